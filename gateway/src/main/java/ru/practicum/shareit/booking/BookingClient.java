@@ -3,20 +3,31 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exceptions.ValidationException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Component
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private static final int STREAM_BUFFER_SIZE = 4096;
+
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(
@@ -37,6 +48,13 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", (long) userId, params, null);
     }
 
+    public ResponseEntity<Object> changeBookingStatuses(int userId, List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new ValidationException("Список решений не может быть пустым!");
+        }
+        return patch("/batch", userId, decisions);
+    }
+
     public ResponseEntity<Object> getBooking(int userId, int bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -53,6 +71,62 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&&from={from}&&size={size}", (long) userId, params);
     }
 
+    public ResponseEntity<Object> getBookerBookings(int userId, String state, String cursor, int size) {
+        isValidPagination(0, size);
+        Map<String, Object> params = Map.of("state", state, "cursor", cursor, "size", size);
+        return get("?state={state}&cursor={cursor}&size={size}", (long) userId, params);
+    }
+
+    public ResponseEntity<Object> getOwnerBookings(int userId, String state, String cursor, int size) {
+        isValidPagination(0, size);
+        Map<String, Object> params = Map.of("state", state, "cursor", cursor, "size", size);
+        return get("/owner?state={state}&cursor={cursor}&size={size}", (long) userId, params);
+    }
+
+    public ResponseEntity<Object> getBookerSummary(int userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerSummary(int userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamOwnerBookings(int userId, String lastEventId)
+            throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand("/owner/stream"), HttpMethod.GET);
+        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        if (lastEventId != null) {
+            request.getHeaders().set("Last-Event-ID", lastEventId);
+        }
+        ClientHttpResponse response = request.execute();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode());
+                if (response.getHeaders().getContentType() != null) {
+                    responseBuilder.contentType(response.getHeaders().getContentType());
+                }
+                return responseBuilder.body(outputStream -> outputStream.write(body));
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header("X-Accel-Buffering", "no")
+                .body(outputStream -> {
+                    try (response) {
+                        InputStream inputStream = response.getBody();
+                        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                        int read;
+                        while ((read = inputStream.read(buffer)) != -1) {
+                            outputStream.write(buffer, 0, read);
+                            outputStream.flush();
+                        }
+                    }
+                });
+    }
+
     private void isValidPagination(int from, int size) {
         if (from < 0) {
             throw new ValidationException("Индекс элемента не может быть меньше 0");
@@ -2,9 +2,14 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -25,6 +30,12 @@ public class BookingController {
         return bookingClient.changeBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> changeBookingStatuses(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                        @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingClient.changeBookingStatuses(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") int userId,
                                              @PathVariable int bookingId) {
@@ -47,4 +58,37 @@ public class BookingController {
         return bookingClient.getOwnerBookings(userId, state, from, size);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getBookerSummary(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return bookingClient.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return bookingClient.getOwnerSummary(userId);
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        return bookingClient.streamOwnerBookings(userId, lastEventId);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Object> getBookerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                    @RequestParam(defaultValue = "ALL") String state,
+                                                    @RequestParam String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "10") int size) {
+        return bookingClient.getBookerBookings(userId, state, cursor, size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<Object> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @RequestParam String cursor,
+                                                   @RequestParam(value = "size", defaultValue = "10") int size) {
+        return bookingClient.getOwnerBookings(userId, state, cursor, size);
+    }
+
 }
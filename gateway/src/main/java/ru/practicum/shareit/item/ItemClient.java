@@ -3,13 +3,23 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exceptions.ValidationException;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -17,6 +27,8 @@ public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    private final RestTemplate streamingRest;
+
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(
@@ -25,6 +37,20 @@ public class ItemClient extends BaseClient {
                         .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                         .build()
         );
+        this.streamingRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> {
+                    HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+                    factory.setBufferRequestBody(false);
+                    return factory;
+                })
+                .errorHandler(new DefaultResponseErrorHandler() {
+                    @Override
+                    public boolean hasError(ClientHttpResponse response) {
+                        return false;
+                    }
+                })
+                .build();
     }
 
     public ResponseEntity<Object> getAllItems(int userId, int from, int size) {
@@ -42,6 +68,20 @@ public class ItemClient extends BaseClient {
         return post("", userId, item);
     }
 
+    public ResponseEntity<Object> createItems(int userId, List<Item> items) {
+        return post("/batch", userId, items);
+    }
+
+    public ResponseEntity<Object> createItems(int userId, InputStream ndjson) {
+        ResponseEntity<Object> response = streamingRest.execute("/batch", HttpMethod.POST, request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            ((StreamingHttpOutputMessage) request).setBody(body -> StreamUtils.copy(ndjson, body));
+        }, streamingRest.responseEntityExtractor(Object.class));
+        return prepareGatewayResponse(response);
+    }
+
     public ResponseEntity<Object> updateItem(int userId, int itemId, Item item) {
         return patch("/" + itemId, userId, item);
     }
@@ -50,16 +90,39 @@ public class ItemClient extends BaseClient {
         delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> searchItems(String text, int from, int size) {
+    public ResponseEntity<Object> searchItems(String text, String mode, int from, int size) {
         isValidPagination(from, size);
-        Map<String, Object> params = Map.of("text", text, "from", from, "size", size);
-        return get("/search?text={text}&from={from}&size={size}", 1L, params);
+        Map<String, Object> params = Map.of("text", text, "mode", mode, "from", from, "size", size);
+        return get("/search?text={text}&mode={mode}&from={from}&size={size}", 1L, params);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(String prefix, int size) {
+        isValidPagination(0, size);
+        Map<String, Object> params = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", null, params);
     }
 
     public ResponseEntity<Object> addComment(int userId, int itemId, CommentTextDto commentTextDto) {
         return post("/" + itemId + "/comment", userId, commentTextDto);
     }
 
+    public ResponseEntity<Object> getComments(int itemId, Integer after, int size) {
+        isValidPagination(0, size);
+        if (after == null) {
+            return get("/" + itemId + "/comments?size={size}", null, Map.of("size", size));
+        }
+        Map<String, Object> params = Map.of("after", after, "size", size);
+        return get("/" + itemId + "/comments?after={after}&size={size}", null, params);
+    }
+
+    public ResponseEntity<Object> getAvailability(int itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его завершения!");
+        }
+        Map<String, Object> params = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, params);
+    }
+
     private void isValidPagination(int from, int size) {
         if (from < 0) {
             throw new ValidationException("Индекс элемента не может быть меньше 0");
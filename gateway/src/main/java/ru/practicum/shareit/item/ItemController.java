@@ -1,9 +1,16 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -28,6 +35,18 @@ public class ItemController {
         return itemClient.createItem(userId, item);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> createItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                              @RequestBody List<Item> items) {
+        return itemClient.createItems(userId, items);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> createItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                              HttpServletRequest request) throws IOException {
+        return itemClient.createItems(userId, request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") int userId,
                                              @PathVariable int itemId, @RequestBody Item item) {
@@ -41,9 +60,16 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestParam String text,
+                                              @RequestParam(value = "mode", defaultValue = "exact") String mode,
                                               @RequestParam(value = "from", defaultValue = "0") int from,
                                               @RequestParam(value = "size", defaultValue = "10") int size) {
-        return itemClient.searchItems(text, from, size);
+        return itemClient.searchItems(text, mode, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(@RequestParam String prefix,
+                                                   @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemClient.suggestItemNames(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -52,4 +78,20 @@ public class ItemController {
                                              @RequestBody CommentTextDto commentTextDto) {
         return itemClient.addComment(userId, itemId, commentTextDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable int itemId,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemClient.getComments(itemId, after, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable int itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        return itemClient.getAvailability(itemId, from, to);
+    }
 }
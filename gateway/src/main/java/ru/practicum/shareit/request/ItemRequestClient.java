@@ -36,16 +36,38 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
+    public ResponseEntity<Object> getOwnItemsRequests(int userId, int from, int size) {
+        isValidPagination(from, size);
+        Map<String, Object> params = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", (long) userId, params);
+    }
+
+    public ResponseEntity<Object> getOwnItemsRequests(int userId, String cursor, int size) {
+        isValidPagination(0, size);
+        Map<String, Object> params = Map.of("cursor", cursor, "size", size);
+        return get("?cursor={cursor}&size={size}", (long) userId, params);
+    }
+
     public ResponseEntity<Object> getOthersItemsRequests(int userId, int from, int size) {
         isValidPagination(from, size);
         Map<String, Object> params = Map.of("from", from, "size", size);
         return get("/all?from={from}&&size={size}", (long) userId, params);
     }
 
+    public ResponseEntity<Object> getOthersItemsRequests(int userId, String cursor, int size) {
+        isValidPagination(0, size);
+        Map<String, Object> params = Map.of("cursor", cursor, "size", size);
+        return get("/all?cursor={cursor}&size={size}", (long) userId, params);
+    }
+
     public ResponseEntity<Object> getItemRequest(int userId, int requestId) {
         return get("/" + requestId, userId);
     }
 
+    public ResponseEntity<Object> getSuggestions(int userId, int requestId) {
+        return get("/" + requestId + "/suggestions", userId);
+    }
+
     private void isValidPagination(int from, int size) {
         if (from < 0) {
             throw new ValidationException("Индекс элемента не может быть меньше 0");
@@ -17,11 +17,25 @@ public class ItemRequestController {
         return itemRequestClient.createItemRequest(userId, itemRequestDescriptionDto);
     }
 
-    @GetMapping
+    @GetMapping(params = {"!from", "!size", "!cursor"})
     public ResponseEntity<Object> getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId) {
         return itemRequestClient.getOwnItemsRequests(userId);
     }
 
+    @GetMapping
+    public ResponseEntity<Object> getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                      @RequestParam(value = "from", defaultValue = "0") int from,
+                                                      @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestClient.getOwnItemsRequests(userId, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<Object> getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                      @RequestParam String cursor,
+                                                      @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestClient.getOwnItemsRequests(userId, cursor, size);
+    }
+
     @GetMapping("/all")
     public ResponseEntity<Object> getOthersItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
                                                          @RequestParam(value = "from", defaultValue = "0") int from,
@@ -29,9 +43,22 @@ public class ItemRequestController {
         return itemRequestClient.getOthersItemsRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    public ResponseEntity<Object> getOthersItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                         @RequestParam String cursor,
+                                                         @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestClient.getOthersItemsRequests(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequest(@RequestHeader("X-Sharer-User-Id") int userId,
                                                  @PathVariable int requestId) {
         return itemRequestClient.getItemRequest(userId, requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public ResponseEntity<Object> getSuggestions(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                 @PathVariable int requestId) {
+        return itemRequestClient.getSuggestions(userId, requestId);
+    }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "bookings_archive", schema = "public")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+    @Id
+    private int id;
+    @Column(name = "start_time")
+    private LocalDateTime start;
+    @Column(name = "end_time")
+    private LocalDateTime end;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Item item;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User booker;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status")
+    private BookingStatus status;
+    private long version;
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    public Booking toBooking() {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .version(version)
+                .build();
+    }
+}
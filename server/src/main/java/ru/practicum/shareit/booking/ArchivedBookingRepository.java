@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Integer> {
+    @Query("select b from ArchivedBooking b join fetch b.item join fetch b.booker where b.booker.id = ?1 " +
+            "order by b.start desc, b.id desc")
+    List<ArchivedBooking> findBookerBookings(int userId, Pageable pageable);
+
+    @Query("select b from ArchivedBooking b join fetch b.item join fetch b.booker where b.booker.id = ?1 " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    List<ArchivedBooking> findBookerBookingsBefore(int userId, LocalDateTime start, int id, Pageable pageable);
+
+    @Query("select b from ArchivedBooking b join fetch b.item i join fetch b.booker where i.owner.id = ?1 " +
+            "order by b.start desc, b.id desc")
+    List<ArchivedBooking> findOwnerBookings(int userId, Pageable pageable);
+
+    @Query("select b from ArchivedBooking b join fetch b.item i join fetch b.booker where i.owner.id = ?1 " +
+            "and (b.start < ?2 or (b.start = ?2 and b.id < ?3)) order by b.start desc, b.id desc")
+    List<ArchivedBooking> findOwnerBookingsBefore(int userId, LocalDateTime start, int id, Pageable pageable);
+
+    @Query(value = "select " + BookingRepository.SUMMARY_COLUMNS + " from bookings_archive b where b.booker_id = ?1",
+            nativeQuery = true)
+    BookingSummary getBookerSummary(int userId, LocalDateTime time);
+
+    @Query(value = "select " + BookingRepository.SUMMARY_COLUMNS + " from bookings_archive b " +
+            "join items i on i.id = b.item_id where i.owner_id = ?1", nativeQuery = true)
+    BookingSummary getOwnerSummary(int userId, LocalDateTime time);
+
+    boolean existsByBookerIdAndItemIdAndStatus(int userId, int itemId, BookingStatus status);
+
+    @Modifying
+    @Transactional
+    @Query(value = "with moved as (delete from bookings b where b.id in (select bk.id from bookings bk " +
+            "where bk.end_time < ?1 and not exists (select 1 from item_booking_pointers p " +
+            "where p.last_booking_id = bk.id or p.next_booking_id = bk.id) " +
+            "order by bk.end_time limit ?2 for update skip locked) returning b.*) " +
+            "insert into bookings_archive (id, start_time, end_time, item_id, booker_id, booking_status, version, " +
+            "archived_at) select id, start_time, end_time, item_id, booker_id, booking_status, version, ?3 from moved",
+            nativeQuery = true)
+    int archiveEndedBefore(LocalDateTime horizon, int limit, LocalDateTime archivedAt);
+}
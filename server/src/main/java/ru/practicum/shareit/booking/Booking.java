@@ -32,4 +32,6 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "booking_status")
     private BookingStatus status;
+    @Version
+    private long version;
 }
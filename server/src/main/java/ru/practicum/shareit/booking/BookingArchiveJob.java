@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingArchiveJob {
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+
+    private final Duration horizon;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final DistributionSummary batchSizes;
+
+    public BookingArchiveJob(ArchivedBookingRepository archivedBookingRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.archive.horizon:365d}") Duration horizon,
+                             @Value("${shareit.booking.archive.batch-size:1000}") int batchSize,
+                             @Value("${shareit.booking.archive.max-batches:50}") int maxBatches) {
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.batchSizes = DistributionSummary.builder("shareit.booking.archive.batch.size").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.archive.delay:3600000}")
+    public void archiveEndedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime endedBefore = now.minus(horizon);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved = archivedBookingRepository.archiveEndedBefore(endedBefore, batchSize, now);
+            batchSizes.record(moved);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Перенесено в архив бронирований: {}", total);
+        }
+    }
+}
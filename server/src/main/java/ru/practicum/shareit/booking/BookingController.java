@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,6 +26,12 @@ public class BookingController {
         return bookingService.changeBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> changeBookingStatuses(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                                @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.changeBookingStatuses(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") int userId, @PathVariable int bookingId) {
         return bookingService.getBooking(userId, bookingId);
@@ -44,4 +52,36 @@ public class BookingController {
                                              @RequestParam(value = "size", defaultValue = "10") int size) {
         return bookingService.getOwnerBookings(userId, state, from, size);
     }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getBookerSummary(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return bookingService.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return bookingService.streamOwnerBookings(userId, lastEventId);
+    }
+
+    @GetMapping(params = "cursor")
+    public BookingPageDto getBookerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                            @RequestParam(defaultValue = "ALL") String state,
+                                            @RequestParam String cursor,
+                                            @RequestParam(value = "size", defaultValue = "10") int size) {
+        return bookingService.getBookerBookings(userId, state, cursor, size);
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public BookingPageDto getOwnerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                           @RequestParam(defaultValue = "ALL") String state,
+                                           @RequestParam String cursor,
+                                           @RequestParam(value = "size", defaultValue = "10") int size) {
+        return bookingService.getOwnerBookings(userId, state, cursor, size);
+    }
 }
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+public enum BookingDecisionOutcome {
+    UPDATED, CONFLICT, NOT_FOUND, FORBIDDEN, INVALID
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Integer bookingId;
+    private BookingDecisionOutcome outcome;
+    private BookingStatus status;
+    private String error;
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@Table(name = "booking_events", schema = "public")
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+    @Column(name = "owner_id")
+    private int ownerId;
+    @Column(name = "booking_id")
+    private int bookingId;
+    @Column(name = "item_id")
+    private int itemId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private BookingEventType type;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status")
+    private BookingStatus status;
+    private LocalDateTime created;
+
+    public static BookingEvent of(Booking booking, BookingEventType type) {
+        return BookingEvent.builder()
+                .ownerId(booking.getItem().getOwner().getId())
+                .bookingId(booking.getId())
+                .itemId(booking.getItem().getId())
+                .type(type)
+                .status(booking.getStatus())
+                .created(LocalDateTime.now())
+                .build();
+    }
+}
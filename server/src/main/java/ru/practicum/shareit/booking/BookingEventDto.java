@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventDto {
+    private long id;
+    private int bookingId;
+    private int itemId;
+    private BookingEventType type;
+    private BookingStatus status;
+    private LocalDateTime created;
+
+    public static BookingEventDto of(BookingEvent event) {
+        return BookingEventDto.builder()
+                .id(event.getId())
+                .bookingId(event.getBookingId())
+                .itemId(event.getItemId())
+                .type(event.getType())
+                .status(event.getStatus())
+                .created(event.getCreated())
+                .build();
+    }
+}
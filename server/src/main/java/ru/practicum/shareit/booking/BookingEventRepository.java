@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    List<BookingEvent> findAllByIdGreaterThanOrderById(long id, Pageable pageable);
+
+    List<BookingEvent> findAllByOwnerIdAndIdGreaterThanOrderById(int ownerId, long afterId, Pageable pageable);
+
+    @Query("select coalesce(max(e.id), 0) from BookingEvent e where e.created < ?1")
+    long findLastIdCreatedBefore(LocalDateTime time);
+
+    @Modifying
+    @Query(value = "insert into booking_events (owner_id, booking_id, item_id, event_type, booking_status, created) " +
+            "select i.owner_id, b.id, b.item_id, 'STATUS_CHANGED', b.booking_status, ?2 from bookings b " +
+            "join items i on i.id = b.item_id where b.id in ?1", nativeQuery = true)
+    int insertStatusChangedEvents(Collection<Integer> bookingIds, LocalDateTime created);
+
+    @Modifying
+    @Query("delete from BookingEvent e where e.created < ?1")
+    int deleteAllByCreatedBefore(LocalDateTime time);
+}
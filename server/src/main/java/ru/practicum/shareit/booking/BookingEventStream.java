@@ -0,0 +1,223 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class BookingEventStream {
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private static final int REPLAY_LIMIT = 1000;
+
+    private static final String RESYNC_EVENT = "RESYNC";
+
+    private final BookingEventRepository bookingEventRepository;
+
+    private final long emitterTimeout;
+
+    private final Duration retention;
+
+    private final Duration dispatchLag;
+
+    private final Map<Integer, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Lock dispatchLock = new ReentrantLock();
+
+    private final Set<Long> dispatched = new HashSet<>();
+
+    private final ExecutorService sender = Executors.newCachedThreadPool();
+
+    private long settledId;
+
+    public BookingEventStream(BookingEventRepository bookingEventRepository,
+                              @Value("${shareit.booking.events.emitter-timeout:30m}") Duration emitterTimeout,
+                              @Value("${shareit.booking.events.retention:1d}") Duration retention,
+                              @Value("${shareit.booking.events.dispatch-lag:1m}") Duration dispatchLag) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.emitterTimeout = emitterTimeout.toMillis();
+        this.retention = retention;
+        this.dispatchLag = dispatchLag;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        dispatchLock.lock();
+        try {
+            settledId = bookingEventRepository.findLastIdCreatedBefore(LocalDateTime.now().minus(dispatchLag));
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    public SseEmitter subscribe(int ownerId, Long lastEventId) {
+        Subscription subscription = new Subscription(ownerId, new SseEmitter(emitterTimeout));
+        subscription.emitter.onCompletion(() -> unsubscribe(subscription));
+        subscription.emitter.onTimeout(() -> unsubscribe(subscription));
+        subscription.emitter.onError(e -> unsubscribe(subscription));
+        synchronized (subscription) {
+            long settled;
+            Set<Long> dispatchedIds;
+            dispatchLock.lock();
+            try {
+                subscriptions.computeIfAbsent(ownerId, id -> new CopyOnWriteArraySet<>()).add(subscription);
+                settled = settledId;
+                dispatchedIds = new HashSet<>(dispatched);
+            } finally {
+                dispatchLock.unlock();
+            }
+            if (lastEventId != null) {
+                replay(subscription, Math.min(lastEventId, settled), settled, dispatchedIds);
+            }
+        }
+        return subscription.emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.events.poll-delay:1000}")
+    public void dispatch() {
+        Map<Subscription, List<BookingEvent>> deliveries = new HashMap<>();
+        dispatchLock.lock();
+        try {
+            LocalDateTime settleBefore = LocalDateTime.now().minus(dispatchLag);
+            long afterId = settledId;
+            List<BookingEvent> events;
+            do {
+                events = bookingEventRepository.findAllByIdGreaterThanOrderById(afterId,
+                        PageRequest.of(0, POLL_BATCH_SIZE));
+                for (BookingEvent event : events) {
+                    if (dispatched.add(event.getId())) {
+                        subscriptions.getOrDefault(event.getOwnerId(), Set.of()).forEach(subscription ->
+                                deliveries.computeIfAbsent(subscription, s -> new ArrayList<>()).add(event));
+                    }
+                    if (event.getCreated().isBefore(settleBefore)) {
+                        settledId = Math.max(settledId, event.getId());
+                    }
+                    afterId = event.getId();
+                }
+            } while (events.size() == POLL_BATCH_SIZE);
+            dispatched.removeIf(id -> id <= settledId);
+        } finally {
+            dispatchLock.unlock();
+        }
+        deliveries.forEach(Subscription::enqueue);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.events.cleanup-delay:3600000}")
+    @Transactional
+    public void cleanup() {
+        int deleted = bookingEventRepository.deleteAllByCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Удалено устаревших событий бронирований: {}", deleted);
+        }
+    }
+
+    private void replay(Subscription subscription, long afterId, long settled, Set<Long> dispatchedIds) {
+        List<BookingEvent> events = bookingEventRepository.findAllByOwnerIdAndIdGreaterThanOrderById(
+                subscription.ownerId, afterId, PageRequest.of(0, REPLAY_LIMIT + 1));
+        if (events.size() > REPLAY_LIMIT) {
+            subscription.sendResync();
+            return;
+        }
+        for (BookingEvent event : events) {
+            if (event.getId() <= settled || dispatchedIds.contains(event.getId())) {
+                subscription.send(event);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.ownerId, (id, owned) -> {
+            owned.remove(subscription);
+            return owned.isEmpty() ? null : owned;
+        });
+    }
+
+    private final class Subscription {
+        private final int ownerId;
+        private final SseEmitter emitter;
+        private final Queue<BookingEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(int ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(List<BookingEvent> events) {
+            pending.addAll(events);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                BookingEvent event;
+                while ((event = pending.poll()) != null) {
+                    send(event);
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private synchronized void send(BookingEvent event) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name(event.getType().name())
+                        .data(BookingEventDto.of(event)));
+            } catch (IOException | IllegalStateException e) {
+                pending.clear();
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private synchronized void sendResync() {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .data("Пропущено более " + REPLAY_LIMIT + " событий, требуется повторная загрузка бронирований"));
+            } catch (IOException | IllegalStateException e) {
+                pending.clear();
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpiryJob {
+
+    private final BookingExpiryService bookingExpiryService;
+
+    private final int batchSize;
+
+    private final int maxBatches;
+
+    private final Duration gracePeriod;
+
+    private final Timer batchTimer;
+
+    private final DistributionSummary batchSizes;
+
+    public BookingExpiryJob(BookingExpiryService bookingExpiryService,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking.expiry.batch-size:500}") int batchSize,
+                            @Value("${shareit.booking.expiry.max-batches:20}") int maxBatches,
+                            @Value("${shareit.booking.expiry.grace-period:1h}") Duration gracePeriod) {
+        this.bookingExpiryService = bookingExpiryService;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.gracePeriod = gracePeriod;
+        this.batchTimer = Timer.builder("shareit.booking.expiry.batch.duration").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("shareit.booking.expiry.batch.size").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.delay:60000}")
+    public void expireWaitingBookings() {
+        LocalDateTime startedBefore = LocalDateTime.now().minus(gracePeriod);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer expired = batchTimer.record(() -> bookingExpiryService.expireBatch(startedBefore, batchSize));
+            batchSizes.record(expired);
+            total += expired;
+            if (expired < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Отменено неподтвержденных бронирований: {}", total);
+        }
+    }
+}
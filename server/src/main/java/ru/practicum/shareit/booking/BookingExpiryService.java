@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookingExpiryService {
+
+    private final BookingRepository bookingRepository;
+
+    private final BookingEventRepository bookingEventRepository;
+
+    private final ItemBookingPointerService itemBookingPointerService;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final ItemCache itemCache;
+
+    @Transactional
+    public int expireBatch(LocalDateTime startedBefore, int batchSize) {
+        List<BookingIntervalView> expired = bookingRepository.findExpiredWaitingForUpdate(startedBefore, batchSize);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Integer> bookingIds = expired.stream()
+                .map(BookingIntervalView::getId)
+                .collect(Collectors.toList());
+        bookingRepository.updateStatusByIdIn(bookingIds, BookingStatus.CANCELED);
+        bookingEventRepository.insertStatusChangedEvents(bookingIds, LocalDateTime.now());
+        Set<Integer> itemIds = expired.stream()
+                .map(BookingIntervalView::getItemId)
+                .collect(Collectors.toSet());
+        itemBookingPointerService.refresh(itemIds);
+        expired.forEach(view -> bookingIntervalIndex.release(view.getItemId(), view.getId()));
+        itemIds.forEach(itemCache::evictBookings);
+        return expired.size();
+    }
+}
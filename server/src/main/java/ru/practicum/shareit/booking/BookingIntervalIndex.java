@@ -0,0 +1,240 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int STRIPES = 64;
+
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Integer, ItemIntervals> intervals = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock[] locks = createLocks();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        intervals.clear();
+        LocalDateTime now = LocalDateTime.now();
+        int lastId = 0;
+        int loaded = 0;
+        List<BookingIntervalView> page;
+        do {
+            page = bookingRepository.findIntervals(BLOCKING_STATUSES, now, lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (BookingIntervalView view : page) {
+                add(view.getItemId(), view.getId(), view.getStart(), view.getEnd());
+                lastId = view.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_BATCH_SIZE);
+        log.info("Индекс интервалов бронирований построен, бронирований: {}", loaded);
+    }
+
+    public void onBookingSaved(Booking booking) {
+        int itemId = booking.getItem().getId();
+        int bookingId = booking.getId();
+        if (BLOCKING_STATUSES.contains(booking.getStatus())) {
+            LocalDateTime start = booking.getStart();
+            LocalDateTime end = booking.getEnd();
+            afterCommit(() -> add(itemId, bookingId, start, end));
+        } else {
+            release(itemId, bookingId);
+        }
+    }
+
+    public void release(int itemId, int bookingId) {
+        afterCommit(() -> remove(itemId, bookingId));
+    }
+
+    public void add(int itemId, int bookingId, LocalDateTime start, LocalDateTime end) {
+        ReadWriteLock lock = lockFor(itemId);
+        lock.writeLock().lock();
+        try {
+            ItemIntervals itemIntervals = intervals.computeIfAbsent(itemId, id -> new ItemIntervals());
+            itemIntervals.removeEndedBefore(toMillis(LocalDateTime.now()));
+            itemIntervals.remove(bookingId);
+            itemIntervals.add(bookingId, toMillis(start), toMillis(end));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int itemId, int bookingId) {
+        ReadWriteLock lock = lockFor(itemId);
+        lock.writeLock().lock();
+        try {
+            ItemIntervals itemIntervals = intervals.get(itemId);
+            if (itemIntervals != null) {
+                itemIntervals.remove(bookingId);
+                if (itemIntervals.size == 0) {
+                    intervals.remove(itemId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isFree(int itemId, LocalDateTime from, LocalDateTime to) {
+        ReadWriteLock lock = lockFor(itemId);
+        lock.readLock().lock();
+        try {
+            ItemIntervals itemIntervals = intervals.get(itemId);
+            return itemIntervals == null || !itemIntervals.overlaps(toMillis(from), toMillis(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TimeWindowDto> findFreeWindows(int itemId, LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        List<TimeWindowDto> windows = new ArrayList<>();
+        ReadWriteLock lock = lockFor(itemId);
+        lock.readLock().lock();
+        try {
+            ItemIntervals itemIntervals = intervals.get(itemId);
+            long cursor = fromMillis;
+            if (itemIntervals != null) {
+                for (int i = itemIntervals.firstEndingAfter(fromMillis);
+                     i < itemIntervals.size && itemIntervals.starts[i] < toMillis; i++) {
+                    if (itemIntervals.starts[i] > cursor) {
+                        windows.add(new TimeWindowDto(toDateTime(cursor), toDateTime(itemIntervals.starts[i])));
+                    }
+                    cursor = Math.max(cursor, itemIntervals.ends[i]);
+                }
+            }
+            if (cursor < toMillis) {
+                windows.add(new TimeWindowDto(toDateTime(cursor), to));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return windows;
+    }
+
+    private ReadWriteLock lockFor(int itemId) {
+        return locks[Math.floorMod(itemId, STRIPES)];
+    }
+
+    private static ReadWriteLock[] createLocks() {
+        ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        return locks;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static final class ItemIntervals {
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int[] bookingIds = new int[4];
+        private int size;
+
+        private void add(int bookingId, long start, long end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                bookingIds = Arrays.copyOf(bookingIds, size * 2);
+            }
+            int position = Arrays.binarySearch(starts, 0, size, start);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            System.arraycopy(starts, position, starts, position + 1, size - position);
+            System.arraycopy(ends, position, ends, position + 1, size - position);
+            System.arraycopy(bookingIds, position, bookingIds, position + 1, size - position);
+            starts[position] = start;
+            ends[position] = end;
+            bookingIds[position] = bookingId;
+            size++;
+        }
+
+        private void remove(int bookingId) {
+            for (int i = 0; i < size; i++) {
+                if (bookingIds[i] == bookingId) {
+                    removeRange(i, i + 1);
+                    return;
+                }
+            }
+        }
+
+        private void removeEndedBefore(long time) {
+            int ended = 0;
+            while (ended < size && ends[ended] <= time) {
+                ended++;
+            }
+            removeRange(0, ended);
+        }
+
+        private void removeRange(int from, int to) {
+            int moved = size - to;
+            System.arraycopy(starts, to, starts, from, moved);
+            System.arraycopy(ends, to, ends, from, moved);
+            System.arraycopy(bookingIds, to, bookingIds, from, moved);
+            size -= to - from;
+        }
+
+        private boolean overlaps(long from, long to) {
+            int i = firstEndingAfter(from);
+            return i < size && starts[i] < to;
+        }
+
+        private int firstEndingAfter(long time) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ends[middle] <= time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
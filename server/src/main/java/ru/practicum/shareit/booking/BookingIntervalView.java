@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+public interface BookingIntervalView {
+    int getId();
+
+    int getItemId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingKeysetRepository {
+
+    List<Booking> findBookerBookings(int userId, BookingState state, LocalDateTime now, KeysetCursor cursor, int size);
+
+    List<Booking> findOwnerBookings(int userId, BookingState state, LocalDateTime now, KeysetCursor cursor, int size);
+}
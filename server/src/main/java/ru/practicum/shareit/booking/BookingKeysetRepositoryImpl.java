@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exceptions.UnsupportedStatusException;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class BookingKeysetRepositoryImpl implements BookingKeysetRepository {
+
+    private static final String BOOKER_QUERY = "select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :userId";
+
+    private static final String OWNER_QUERY = "select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :userId";
+
+    private static final String KEYSET_CONDITION = " and (b.start < :position or (b.start = :position and b.id < :id))";
+
+    private static final String ORDER = " order by b.start desc, b.id desc";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerBookings(int userId, BookingState state, LocalDateTime now, KeysetCursor cursor,
+                                            int size) {
+        return find(BOOKER_QUERY, userId, state, now, cursor, size);
+    }
+
+    @Override
+    public List<Booking> findOwnerBookings(int userId, BookingState state, LocalDateTime now, KeysetCursor cursor,
+                                           int size) {
+        return find(OWNER_QUERY, userId, state, now, cursor, size);
+    }
+
+    private List<Booking> find(String baseQuery, int userId, BookingState state, LocalDateTime now,
+                               KeysetCursor cursor, int size) {
+        String jpql = baseQuery + stateCondition(state) + (cursor == null ? "" : KEYSET_CONDITION) + ORDER;
+        TypedQuery<Booking> query = entityManager.createQuery(jpql, Booking.class)
+                .setParameter("userId", userId);
+        switch (state) {
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+                query.setParameter("now", now);
+                break;
+            case WAITING:
+                query.setParameter("status", BookingStatus.WAITING);
+                break;
+            case REJECTED:
+                query.setParameter("status", BookingStatus.REJECTED);
+                break;
+            default:
+                break;
+        }
+        if (cursor != null) {
+            query.setParameter("position", cursor.getPosition())
+                    .setParameter("id", cursor.getId());
+        }
+        return query.setMaxResults(size).getResultList();
+    }
+
+    private String stateCondition(BookingState state) {
+        switch (state) {
+            case ALL:
+                return "";
+            case CURRENT:
+                return " and b.start < :now and b.end > :now";
+            case PAST:
+                return " and b.end < :now";
+            case FUTURE:
+                return " and b.start > :now";
+            case WAITING:
+            case REJECTED:
+                return " and b.status = :status";
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+}
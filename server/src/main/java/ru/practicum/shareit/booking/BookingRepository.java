@@ -1,22 +1,129 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    @Query(value = "select b from Booking b where b.item.id = ?1 and b.item.owner.id = ?2 and b.status <> ?3 and b.start < ?4 order by b.start desc")
-    List<Booking> findLastBookingByOwnerId(int itemId, int bookerId, BookingStatus bookingStatus, LocalDateTime time);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingKeysetRepository {
+    String SUMMARY_COLUMNS = "count(*) as \"all\", " +
+            "count(*) filter (where b.end_time < ?2) as \"past\", " +
+            "count(*) filter (where b.start_time > ?2) as \"future\", " +
+            "count(*) filter (where b.start_time < ?2 and b.end_time > ?2) as \"current\", " +
+            "count(*) filter (where b.booking_status = 'WAITING') as \"waiting\", " +
+            "count(*) filter (where b.booking_status = 'REJECTED') as \"rejected\"";
 
-    @Query(value = "select b from Booking b where b.item.id = ?1 and b.item.owner.id = ?2 and b.status <> ?3 and b.start > ?4 order by b.start")
-    List<Booking> findNextBookingByOwnerId(int itemId, int bookerId, BookingStatus bookingStatus, LocalDateTime time);
+    @Query(value = "select b.* from bookings b where b.id in (select r.id from (select bk.id, row_number() over " +
+            "(partition by bk.item_id order by bk.start_time desc) as rn from bookings bk where bk.item_id in ?1 " +
+            "and bk.booking_status not in ?2 and bk.start_time < ?3) r where r.rn = 1)", nativeQuery = true)
+    List<Booking> findLastBookingsByItemIds(Collection<Integer> itemIds, Collection<String> excludedStatuses,
+                                            LocalDateTime time);
+
+    @Query(value = "select b.* from bookings b where b.id in (select r.id from (select bk.id, row_number() over " +
+            "(partition by bk.item_id order by bk.start_time) as rn from bookings bk where bk.item_id in ?1 " +
+            "and bk.booking_status not in ?2 and bk.start_time > ?3) r where r.rn = 1)", nativeQuery = true)
+    List<Booking> findNextBookingsByItemIds(Collection<Integer> itemIds, Collection<String> excludedStatuses,
+                                            LocalDateTime time);
+
+    @Query("select b.id as id, b.item.id as itemId, b.start as start, b.end as end from Booking b " +
+            "where b.status in ?1 and b.end > ?2 and b.id > ?3 order by b.id")
+    List<BookingIntervalView> findIntervals(Collection<BookingStatus> statuses, LocalDateTime time, int afterId,
+                                            Pageable pageable);
+
+    @Query(value = "select b.id as \"id\", b.item_id as \"itemId\", b.start_time as \"start\", " +
+            "b.end_time as \"end\" from bookings b where b.booking_status = 'WAITING' and b.start_time < ?1 " +
+            "order by b.start_time limit ?2 for update skip locked", nativeQuery = true)
+    List<BookingIntervalView> findExpiredWaitingForUpdate(LocalDateTime time, int limit);
+
+    @Modifying
+    @Query("update Booking b set b.status = ?2, b.version = b.version + 1 where b.id in ?1")
+    int updateStatusByIdIn(Collection<Integer> bookingIds, BookingStatus status);
+
+    @Query(value = "select " + SUMMARY_COLUMNS + " from bookings b where b.booker_id = ?1", nativeQuery = true)
+    BookingSummary getBookerSummary(int userId, LocalDateTime time);
+
+    @Query(value = "select " + SUMMARY_COLUMNS + " from bookings b join items i on i.id = b.item_id " +
+            "where i.owner_id = ?1", nativeQuery = true)
+    BookingSummary getOwnerSummary(int userId, LocalDateTime time);
+
+    @Query("select b.booker.id as bookerId, b.item.id as itemId, b.status as status from Booking b where b.id = ?1")
+    Optional<BookingStatusView> findStatusViewById(int bookingId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ?2, b.version = b.version + 1 where b.id = ?1 and b.status = ?3")
+    int updateStatusIfCurrent(int bookingId, BookingStatus status, BookingStatus currentStatus);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findBookingById(int bookingId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b join fetch b.item where b.id in ?1 order by b.id")
+    List<Booking> findAllByIdInForUpdate(Collection<Integer> bookingIds);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(int itemId, Collection<BookingStatus> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
 
     boolean existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(int userId, int itemId, BookingStatus bookingStatus, LocalDateTime time);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(int userId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdOrderByStartDescIdDesc(int userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStartBeforeOrderByStartDescIdDesc(int userId, LocalDateTime start);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStartBeforeAndEndBeforeOrderByStartDescIdDesc(int userId, LocalDateTime start,
+                                                                                  LocalDateTime end);
+
+    long countByBookerId(int userId);
+
+    long countByBookerIdAndEndBefore(int userId, LocalDateTime time);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(int userId, LocalDateTime start,
+                                                                            LocalDateTime end, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(int userId, LocalDateTime time, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(int userId, LocalDateTime time, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(int userId, BookingStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdOrderByStartDescIdDesc(int userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndStartBeforeOrderByStartDescIdDesc(int userId, LocalDateTime start);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndStartBeforeAndEndBeforeOrderByStartDescIdDesc(int userId, LocalDateTime start,
+                                                                                      LocalDateTime end);
+
+    long countByItem_OwnerId(int userId);
+
+    long countByItem_OwnerIdAndEndBefore(int userId, LocalDateTime time);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(int userId, LocalDateTime start,
+                                                                               LocalDateTime end, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(int userId, LocalDateTime time, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(int userId, LocalDateTime time, Pageable pageable);
 
-    List<Booking> findAllByItem_OwnerIdOrderByStartDesc(int userId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItem_OwnerIdAndStatusOrderByStartDesc(int userId, BookingStatus status, Pageable pageable);
 }
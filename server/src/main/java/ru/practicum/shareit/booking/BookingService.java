@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.util.List;
 
 public interface BookingService {
@@ -8,9 +10,21 @@ public interface BookingService {
 
     BookingDto changeBookingStatus(int userId, int bookingId, boolean approved);
 
+    List<BookingDecisionResultDto> changeBookingStatuses(int userId, List<BookingDecisionDto> decisions);
+
     BookingDto getBooking(int userId, int bookingId);
 
     List<BookingDto> getBookerBookings(int userId, String state, int from, int size);
 
     List<BookingDto> getOwnerBookings(int userId, String state, int from, int size);
+
+    BookingPageDto getBookerBookings(int userId, String state, String cursor, int size);
+
+    BookingPageDto getOwnerBookings(int userId, String state, String cursor, int size);
+
+    BookingSummaryDto getBookerSummary(int userId);
+
+    BookingSummaryDto getOwnerSummary(int userId);
+
+    SseEmitter streamOwnerBookings(int userId, Long lastEventId);
 }
@@ -1,38 +1,111 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exceptions.AlreadyExistsException;
+import ru.practicum.shareit.exceptions.ConstraintViolations;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.UnsupportedStatusException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "bookings_item_id_period_excl";
+
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private static final Comparator<Booking> NEWEST_FIRST = Comparator.comparing(Booking::getStart)
+            .thenComparingInt(Booking::getId)
+            .reversed();
+
     private final BookingRepository bookingRepository;
 
     private final UserService userService;
 
     private final ItemRepository itemRepository;
 
+    private final ItemCache itemCache;
+
+    private final ItemBookingPointerService itemBookingPointerService;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final BookingEventRepository bookingEventRepository;
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+
+    private final BookingEventStream bookingEventStream;
+
+    private final Counter statusConflicts;
+
+    private final boolean lockItemOnCreate;
+
+    private final int maxBatchSize;
+
+    private final Duration archiveHorizon;
+
+    public BookingServiceImpl(BookingRepository bookingRepository,
+                              UserService userService,
+                              ItemRepository itemRepository,
+                              ItemCache itemCache,
+                              ItemBookingPointerService itemBookingPointerService,
+                              BookingIntervalIndex bookingIntervalIndex,
+                              BookingEventRepository bookingEventRepository,
+                              ArchivedBookingRepository archivedBookingRepository,
+                              BookingEventStream bookingEventStream,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.booking.lock-item-on-create:false}") boolean lockItemOnCreate,
+                              @Value("${shareit.booking.batch.max-size:500}") int maxBatchSize,
+                              @Value("${shareit.booking.archive.horizon:365d}") Duration archiveHorizon) {
+        this.bookingRepository = bookingRepository;
+        this.userService = userService;
+        this.itemRepository = itemRepository;
+        this.itemCache = itemCache;
+        this.itemBookingPointerService = itemBookingPointerService;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingEventRepository = bookingEventRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.bookingEventStream = bookingEventStream;
+        this.statusConflicts = Counter.builder("shareit.booking.status.conflicts").register(meterRegistry);
+        this.lockItemOnCreate = lockItemOnCreate;
+        this.maxBatchSize = maxBatchSize;
+        this.archiveHorizon = archiveHorizon;
+    }
+
     @Override
+    @Transactional
     public BookingDto createBooking(int userId, BookingItemIdDto bookingItemIdDto) {
         Item item;
         isValid(bookingItemIdDto);
         UserDto bookerDto = userService.getUser(userId);
         User booker = UserMapper.userDtoMap(bookerDto);
-        Optional<Item> optionalItem = itemRepository.findById(bookingItemIdDto.getItemId());
+        Optional<Item> optionalItem = lockItemOnCreate
+                ? itemRepository.findByIdForUpdate(bookingItemIdDto.getItemId())
+                : itemRepository.findById(bookingItemIdDto.getItemId());
         if (optionalItem.isPresent()) {
             item = optionalItem.get();
         } else {
@@ -44,33 +117,127 @@ public class BookingServiceImpl implements BookingService {
         if (booker.getId() == item.getOwner().getId()) {
             throw new NotFoundException("Нельзя забронировать свою вещь!");
         }
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(item.getId(), BLOCKING_STATUSES,
+                bookingItemIdDto.getEnd(), bookingItemIdDto.getStart())) {
+            throw new AlreadyExistsException("Вещь уже забронирована на это время!");
+        }
         Booking booking = BookingMapper.bookingItemIdDtoMap(bookingItemIdDto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.bookingMap(bookingRepository.save(booking));
+        Booking createdBooking;
+        try {
+            createdBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolated(e, OVERLAP_CONSTRAINT)) {
+                throw new AlreadyExistsException("Вещь уже забронирована на это время!");
+            }
+            throw e;
+        }
+        bookingEventRepository.save(BookingEvent.of(createdBooking, BookingEventType.CREATED));
+        itemBookingPointerService.onBookingCreated(createdBooking);
+        bookingIntervalIndex.onBookingSaved(createdBooking);
+        itemCache.evictBookings(item.getId());
+        return BookingMapper.bookingMap(createdBooking);
     }
 
     @Override
+    @Transactional
     public BookingDto changeBookingStatus(int userId, int bookingId, boolean approved) {
-        userService.getUser(userId);
-        Booking booking = checkBooking(bookingId);
-        if (booking.getStatus() != BookingStatus.WAITING) {
+        userService.checkUserExists(userId);
+        BookingStatusView view = bookingRepository.findStatusViewById(bookingId)
+                .orElseThrow(() -> new NotFoundException("В базе нет такого бронирования!"));
+        if (view.getStatus() != BookingStatus.WAITING) {
             throw new ValidationException("У текущего бронирования уже обновлен статус!");
         }
-        if (booking.getBooker().getId() == userId) {
+        if (view.getBookerId() == userId) {
             throw new NotFoundException("Нельзя забронировать свою вещь!");
         }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatusIfCurrent(bookingId, status, BookingStatus.WAITING) == 0) {
+            statusConflicts.increment();
+            log.info("Конфликт при изменении статуса бронирования {} вещи {}", bookingId, view.getItemId());
+            throw new AlreadyExistsException("Статус бронирования " + bookingId + " уже изменен другим запросом!");
+        }
+        Booking updatedBooking = bookingRepository.findBookingById(bookingId)
+                .orElseThrow(() -> new NotFoundException("В базе нет такого бронирования!"));
+        afterStatusChanged(updatedBooking);
+        return BookingMapper.bookingMap(updatedBooking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> changeBookingStatuses(int userId, List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new ValidationException("Список решений не может быть пустым!");
+        } else if (decisions.size() > maxBatchSize) {
+            throw new ValidationException("Нельзя изменить больше " + maxBatchSize + " бронирований за раз!");
         }
-        return BookingMapper.bookingMap(bookingRepository.save(booking));
+        userService.checkUserExists(userId);
+        Set<Integer> bookingIds = decisions.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDecisionDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Booking> bookings = new HashMap<>();
+        if (!bookingIds.isEmpty()) {
+            bookingRepository.findAllByIdInForUpdate(bookingIds)
+                    .forEach(booking -> bookings.put(booking.getId(), booking));
+        }
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        List<Integer> approvedIds = new ArrayList<>();
+        List<Booking> rejectedBookings = new ArrayList<>();
+        Set<Integer> itemIds = new HashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                results.add(toResult(decision == null ? null : decision.getBookingId(), BookingDecisionOutcome.INVALID,
+                        null, "Нужно указать bookingId и approved"));
+                continue;
+            }
+            Booking booking = bookings.get(decision.getBookingId());
+            if (booking == null) {
+                results.add(toResult(decision.getBookingId(), BookingDecisionOutcome.NOT_FOUND, null,
+                        "В базе нет такого бронирования!"));
+            } else if (booking.getItem().getOwner().getId() != userId) {
+                results.add(toResult(booking.getId(), BookingDecisionOutcome.FORBIDDEN, null,
+                        "Пользователь с ID " + userId + " не является владельцем вещи!"));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.add(toResult(booking.getId(), BookingDecisionOutcome.CONFLICT, booking.getStatus(),
+                        "У текущего бронирования уже обновлен статус!"));
+            } else {
+                BookingStatus status = decision.getApproved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+                if (status == BookingStatus.APPROVED) {
+                    approvedIds.add(booking.getId());
+                } else {
+                    rejectedBookings.add(booking);
+                }
+                itemIds.add(booking.getItem().getId());
+                results.add(toResult(booking.getId(), BookingDecisionOutcome.UPDATED, status, null));
+            }
+        }
+        if (itemIds.isEmpty()) {
+            return results;
+        }
+        List<Integer> rejectedIds = rejectedBookings.stream().map(Booking::getId).collect(Collectors.toList());
+        if (!approvedIds.isEmpty()) {
+            bookingRepository.updateStatusByIdIn(approvedIds, BookingStatus.APPROVED);
+        }
+        if (!rejectedIds.isEmpty()) {
+            bookingRepository.updateStatusByIdIn(rejectedIds, BookingStatus.REJECTED);
+        }
+        List<Integer> updatedIds = new ArrayList<>(approvedIds);
+        updatedIds.addAll(rejectedIds);
+        bookingEventRepository.insertStatusChangedEvents(updatedIds, LocalDateTime.now());
+        itemBookingPointerService.refresh(rejectedBookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        rejectedBookings.forEach(booking -> bookingIntervalIndex.release(booking.getItem().getId(), booking.getId()));
+        itemIds.forEach(itemCache::evictBookings);
+        return results;
     }
 
     @Override
     public BookingDto getBooking(int userId, int bookingId) {
         Booking booking = checkBooking(bookingId);
-        userService.getUser(userId);
+        userService.checkUserExists(userId);
         if (booking.getBooker().getId() == userId || booking.getItem().getOwner().getId() == userId) {
             return BookingMapper.bookingMap(booking);
         } else {
@@ -81,120 +248,261 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> getBookerBookings(int userId, String state, int from, int size) {
         isValidPagination(from, size);
-        userService.getUser(userId);
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-        BookingState bookingState = BookingState.valueOf(state);
-        List<Booking> bookings = new ArrayList<>();
-        List<BookingDto> bookingsDto = new ArrayList<>();
-        switch (bookingState) {
+        userService.checkUserExists(userId);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime boundary = now.minus(archiveHorizon);
+        List<Booking> bookings;
+        switch (BookingState.valueOf(state)) {
             case ALL:
-                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageRequest);
+                bookings = withArchive(bookingRepository.findAllByBookerIdOrderByStartDescIdDesc(userId, pageable),
+                        from, size, boundary,
+                        () -> bookingRepository.findAllByBookerIdAndStartBeforeOrderByStartDescIdDesc(userId, boundary),
+                        () -> bookingRepository.countByBookerId(userId),
+                        page -> archivedBookingRepository.findBookerBookings(userId, page));
                 break;
-            case PAST:
+            case CURRENT:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getBooker().getId() == userId)
-                        .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                        .collect(Collectors.toList());
+                        .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable);
                 break;
-            case FUTURE:
-                bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getBooker().getId() == userId)
-                        .filter(booking -> booking.getStart().isAfter(LocalDateTime.now())).collect(Collectors.toList());
+            case PAST:
+                bookings = withArchive(bookingRepository
+                                .findAllByBookerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, pageable),
+                        from, size, boundary,
+                        () -> bookingRepository
+                                .findAllByBookerIdAndStartBeforeAndEndBeforeOrderByStartDescIdDesc(userId, boundary, now),
+                        () -> bookingRepository.countByBookerIdAndEndBefore(userId, now),
+                        page -> archivedBookingRepository.findBookerBookings(userId, page));
                 break;
-            case CURRENT:
-                bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getBooker().getId() == userId)
-                        .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) && booking.getEnd().isAfter(LocalDateTime.now())).collect(Collectors.toList());
+            case FUTURE:
+                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
                 break;
             case WAITING:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getBooker().getId() == userId)
-                        .filter(booking -> booking.getStatus() == BookingStatus.WAITING).collect(Collectors.toList());
+                        .findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageable);
                 break;
             case REJECTED:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getBooker().getId() == userId)
-                        .filter(booking -> booking.getStatus() == BookingStatus.REJECTED).collect(Collectors.toList());
+                        .findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageable);
                 break;
-            case UNSUPPORTED_STATUS:
+            default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
         }
-        bookings.forEach(booking -> bookingsDto.add(BookingMapper.bookingMap(booking)));
-        return bookingsDto;
+        return bookings.stream().map(BookingMapper::bookingMap).collect(Collectors.toList());
     }
 
     @Override
     public List<BookingDto> getOwnerBookings(int userId, String state, int from, int size) {
         isValidPagination(from, size);
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-        userService.getUser(userId);
-        BookingState bookingState = BookingState.valueOf(state);
-        List<Booking> bookings = new ArrayList<>();
-        List<BookingDto> bookingsDto = new ArrayList<>();
-        switch (bookingState) {
+        userService.checkUserExists(userId);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime boundary = now.minus(archiveHorizon);
+        List<Booking> bookings;
+        switch (BookingState.valueOf(state)) {
             case ALL:
-                bookings = bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(userId, pageRequest);
+                bookings = withArchive(bookingRepository.findAllByItem_OwnerIdOrderByStartDescIdDesc(userId, pageable),
+                        from, size, boundary,
+                        () -> bookingRepository.findAllByItem_OwnerIdAndStartBeforeOrderByStartDescIdDesc(userId, boundary),
+                        () -> bookingRepository.countByItem_OwnerId(userId),
+                        page -> archivedBookingRepository.findOwnerBookings(userId, page));
                 break;
-            case PAST:
+            case CURRENT:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getItem().getOwner().getId() == userId)
-                        .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now())).collect(Collectors.toList());
+                        .findAllByItem_OwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable);
                 break;
-            case FUTURE:
-                bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getItem().getOwner().getId() == userId)
-                        .filter(booking -> booking.getStart().isAfter(LocalDateTime.now())).collect(Collectors.toList());
+            case PAST:
+                bookings = withArchive(bookingRepository
+                                .findAllByItem_OwnerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, pageable),
+                        from, size, boundary,
+                        () -> bookingRepository
+                                .findAllByItem_OwnerIdAndStartBeforeAndEndBeforeOrderByStartDescIdDesc(userId, boundary, now),
+                        () -> bookingRepository.countByItem_OwnerIdAndEndBefore(userId, now),
+                        page -> archivedBookingRepository.findOwnerBookings(userId, page));
                 break;
-            case CURRENT:
-                bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getItem().getOwner().getId() == userId)
-                        .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) && booking.getEnd().isAfter(LocalDateTime.now())).collect(Collectors.toList());
+            case FUTURE:
+                bookings = bookingRepository.findAllByItem_OwnerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
                 break;
             case WAITING:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getItem().getOwner().getId() == userId)
-                        .filter(booking -> booking.getStatus() == BookingStatus.WAITING).collect(Collectors.toList());
+                        .findAllByItem_OwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageable);
                 break;
             case REJECTED:
                 bookings = bookingRepository
-                        .findAll(pageRequest).getContent()
-                        .stream()
-                        .sorted(Comparator.comparing(Booking::getEnd).reversed())
-                        .filter(booking -> booking.getItem().getOwner().getId() == userId)
-                        .filter(booking -> booking.getStatus() == BookingStatus.REJECTED).collect(Collectors.toList());
+                        .findAllByItem_OwnerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageable);
                 break;
-            case UNSUPPORTED_STATUS:
+            default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
         }
-        bookings.forEach(booking -> bookingsDto.add(BookingMapper.bookingMap(booking)));
-        return bookingsDto;
+        return bookings.stream().map(BookingMapper::bookingMap).collect(Collectors.toList());
+    }
+
+    @Override
+    public BookingPageDto getBookerBookings(int userId, String state, String cursor, int size) {
+        isValidPagination(0, size);
+        userService.checkUserExists(userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = bookingRepository.findBookerBookings(userId, bookingState, now, keysetCursor, size);
+        if (isArchived(bookingState) && !isBeforeArchive(bookings, size, now.minus(archiveHorizon))) {
+            Pageable archivePage = OffsetPageRequest.of(0, size);
+            bookings = merge(bookings, keysetCursor == null
+                    ? archivedBookingRepository.findBookerBookings(userId, archivePage)
+                    : archivedBookingRepository.findBookerBookingsBefore(userId, keysetCursor.getPosition(),
+                    keysetCursor.getId(), archivePage), size);
+        }
+        return toPage(bookings, size);
+    }
+
+    @Override
+    public BookingPageDto getOwnerBookings(int userId, String state, String cursor, int size) {
+        isValidPagination(0, size);
+        userService.checkUserExists(userId);
+        BookingState bookingState = BookingState.valueOf(state);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = bookingRepository.findOwnerBookings(userId, bookingState, now, keysetCursor, size);
+        if (isArchived(bookingState) && !isBeforeArchive(bookings, size, now.minus(archiveHorizon))) {
+            Pageable archivePage = OffsetPageRequest.of(0, size);
+            bookings = merge(bookings, keysetCursor == null
+                    ? archivedBookingRepository.findOwnerBookings(userId, archivePage)
+                    : archivedBookingRepository.findOwnerBookingsBefore(userId, keysetCursor.getPosition(),
+                    keysetCursor.getId(), archivePage), size);
+        }
+        return toPage(bookings, size);
+    }
+
+    @Override
+    public BookingSummaryDto getBookerSummary(int userId) {
+        userService.checkUserExists(userId);
+        LocalDateTime now = LocalDateTime.now();
+        return BookingSummaryDto.of(bookingRepository.getBookerSummary(userId, now),
+                archivedBookingRepository.getBookerSummary(userId, now));
+    }
+
+    @Override
+    public BookingSummaryDto getOwnerSummary(int userId) {
+        userService.checkUserExists(userId);
+        LocalDateTime now = LocalDateTime.now();
+        return BookingSummaryDto.of(bookingRepository.getOwnerSummary(userId, now),
+                archivedBookingRepository.getOwnerSummary(userId, now));
+    }
+
+    @Override
+    public SseEmitter streamOwnerBookings(int userId, Long lastEventId) {
+        userService.checkUserExists(userId);
+        return bookingEventStream.subscribe(userId, lastEventId);
+    }
+
+    private List<Booking> merge(List<Booking> bookings, List<ArchivedBooking> archivedBookings, int size) {
+        if (archivedBookings.isEmpty()) {
+            return bookings;
+        }
+        Set<Integer> bookingIds = bookings.stream().map(Booking::getId).collect(Collectors.toSet());
+        List<Booking> result = new ArrayList<>(bookings);
+        archivedBookings.stream()
+                .filter(archivedBooking -> !bookingIds.contains(archivedBooking.getId()))
+                .forEach(archivedBooking -> result.add(archivedBooking.toBooking()));
+        result.sort(NEWEST_FIRST);
+        return result.subList(0, Math.min(size, result.size()));
+    }
+
+    private List<Booking> withArchive(List<Booking> bookings, int from, int size, LocalDateTime boundary,
+                                      Supplier<List<Booking>> oldBookingsQuery, LongSupplier countQuery,
+                                      Function<Pageable, List<ArchivedBooking>> archiveQuery) {
+        if (isBeforeArchive(bookings, size, boundary)) {
+            return bookings;
+        }
+        List<Booking> recentBookings = bookings.stream()
+                .filter(booking -> !booking.getStart().isBefore(boundary))
+                .collect(Collectors.toList());
+        boolean hotExhausted = !bookings.isEmpty() && recentBookings.size() == bookings.size();
+        List<Booking> oldBookings = hotExhausted ? List.of() : oldBookingsQuery.get();
+        long recentCount;
+        if (!recentBookings.isEmpty()) {
+            recentCount = from + recentBookings.size();
+        } else if (!bookings.isEmpty()) {
+            recentCount = from - indexOf(oldBookings, bookings.get(0).getId());
+        } else {
+            recentCount = countQuery.getAsLong() - oldBookings.size();
+        }
+        int offset = (int) Math.max(0, from - recentCount);
+        int limit = size - recentBookings.size();
+        int archiveOffset = Math.max(0, offset - oldBookings.size());
+        Set<Integer> hotIds = oldBookings.stream().map(Booking::getId).collect(Collectors.toSet());
+        List<Booking> archivedBookings = archiveQuery.apply(OffsetPageRequest.of(archiveOffset,
+                        offset + limit - archiveOffset)).stream()
+                .filter(archivedBooking -> !hotIds.contains(archivedBooking.getId()))
+                .map(ArchivedBooking::toBooking)
+                .collect(Collectors.toList());
+        List<Booking> tail = new ArrayList<>(archivedBookings);
+        int tailOffset = offset - archiveOffset;
+        if (archiveOffset == 0) {
+            tail.addAll(oldBookings);
+        } else if (archivedBookings.isEmpty()) {
+            return recentBookings;
+        } else {
+            Booking firstArchived = archivedBookings.get(0);
+            for (Booking oldBooking : oldBookings) {
+                if (NEWEST_FIRST.compare(oldBooking, firstArchived) < 0) {
+                    tailOffset--;
+                } else {
+                    tail.add(oldBooking);
+                }
+            }
+        }
+        tail.sort(NEWEST_FIRST);
+        int start = Math.min(tailOffset, tail.size());
+        List<Booking> result = new ArrayList<>(recentBookings);
+        result.addAll(tail.subList(start, Math.min(start + limit, tail.size())));
+        return result;
+    }
+
+    private int indexOf(List<Booking> bookings, int bookingId) {
+        for (int i = 0; i < bookings.size(); i++) {
+            if (bookings.get(i).getId() == bookingId) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private boolean isBeforeArchive(List<Booking> bookings, int size, LocalDateTime boundary) {
+        return bookings.size() == size && !bookings.get(size - 1).getStart().isBefore(boundary);
+    }
+
+    private boolean isArchived(BookingState state) {
+        return state == BookingState.ALL || state == BookingState.PAST;
+    }
+
+    private void afterStatusChanged(Booking booking) {
+        bookingEventRepository.save(BookingEvent.of(booking, BookingEventType.STATUS_CHANGED));
+        itemBookingPointerService.onBookingStatusChanged(booking);
+        bookingIntervalIndex.onBookingSaved(booking);
+        itemCache.evictBookings(booking.getItem().getId());
+    }
+
+    private BookingDecisionResultDto toResult(Integer bookingId, BookingDecisionOutcome outcome, BookingStatus status,
+                                              String error) {
+        return BookingDecisionResultDto.builder()
+                .bookingId(bookingId)
+                .outcome(outcome)
+                .status(status)
+                .error(error)
+                .build();
+    }
+
+    private BookingPageDto toPage(List<Booking> bookings, int size) {
+        String nextCursor = null;
+        if (bookings.size() == size) {
+            Booking last = bookings.get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+        }
+        return BookingPageDto.builder()
+                .bookings(bookings.stream().map(BookingMapper::bookingMap).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     private void isValid(BookingItemIdDto bookingItemIdDto) {
@@ -216,10 +524,12 @@ public class BookingServiceImpl implements BookingService {
     private Booking checkBooking(int bookingId) {
         Booking booking;
         Optional<Booking> optionalBooking = bookingRepository.findById(bookingId);
-        if (optionalBooking.isEmpty()) {
-            throw new NotFoundException("В базе нет такого бронирования!");
-        } else {
+        if (optionalBooking.isPresent()) {
             booking = optionalBooking.get();
+        } else {
+            booking = archivedBookingRepository.findById(bookingId)
+                    .map(ArchivedBooking::toBooking)
+                    .orElseThrow(() -> new NotFoundException("В базе нет такого бронирования!"));
         }
         return booking;
     }
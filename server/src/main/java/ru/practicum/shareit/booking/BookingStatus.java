@@ -1,5 +1,5 @@
 package ru.practicum.shareit.booking;
 
 public enum BookingStatus {
-    WAITING, APPROVED, REJECTED
+    WAITING, APPROVED, REJECTED, CANCELED
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+public interface BookingStatusView {
+    int getBookerId();
+
+    int getItemId();
+
+    BookingStatus getStatus();
+}
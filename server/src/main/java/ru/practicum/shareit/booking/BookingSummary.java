@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+public interface BookingSummary {
+    long getAll();
+
+    long getPast();
+
+    long getFuture();
+
+    long getCurrent();
+
+    long getWaiting();
+
+    long getRejected();
+}
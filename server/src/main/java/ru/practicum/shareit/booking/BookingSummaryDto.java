@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummaryDto {
+    private long all;
+    private long past;
+    private long future;
+    private long current;
+    private long waiting;
+    private long rejected;
+
+    public static BookingSummaryDto of(BookingSummary summary, BookingSummary archived) {
+        return BookingSummaryDto.builder()
+                .all(summary.getAll() + archived.getAll())
+                .past(summary.getPast() + archived.getPast())
+                .future(summary.getFuture())
+                .current(summary.getCurrent())
+                .waiting(summary.getWaiting())
+                .rejected(summary.getRejected())
+                .build();
+    }
+}
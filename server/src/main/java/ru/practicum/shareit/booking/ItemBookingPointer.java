@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking;
+
+import lombok.*;
+import ru.practicum.shareit.item.ItemBookings;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "item_booking_pointers", schema = "public")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBookingPointer {
+    @Id
+    @Column(name = "item_id")
+    private int itemId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    private Booking lastBooking;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    private Booking nextBooking;
+
+    public boolean isStale(LocalDateTime now) {
+        return nextBooking != null && !nextBooking.getStart().isAfter(now);
+    }
+
+    public ItemBookings toItemBookings() {
+        return new ItemBookings(
+                lastBooking == null ? null : BookingMapper.bookingLastAndNextDtoMap(lastBooking),
+                nextBooking == null ? null : BookingMapper.bookingLastAndNextDtoMap(nextBooking));
+    }
+}
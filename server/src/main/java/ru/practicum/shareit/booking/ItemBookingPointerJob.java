@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.pointers.roll-forward-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ItemBookingPointerJob {
+
+    private final ItemBookingPointerService itemBookingPointerService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.pointers.roll-forward-delay:60000}")
+    public void rollForward() {
+        itemBookingPointerService.rollForward();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingPointerRepository extends JpaRepository<ItemBookingPointer, Integer> {
+    @Query("select p from ItemBookingPointer p left join fetch p.lastBooking left join fetch p.nextBooking " +
+            "where p.itemId in ?1")
+    List<ItemBookingPointer> findAllByItemIdIn(Collection<Integer> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from ItemBookingPointer p where p.itemId = ?1")
+    Optional<ItemBookingPointer> findByItemIdForUpdate(int itemId);
+
+    @Query("select p.itemId from ItemBookingPointer p join p.nextBooking b where b.start <= ?1")
+    List<Integer> findItemIdsWithStartedNextBooking(LocalDateTime time, Pageable pageable);
+
+    @Modifying
+    @Query(value = "insert into item_booking_pointers (item_id) values (?1) on conflict do nothing", nativeQuery = true)
+    void insertIfAbsent(int itemId);
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemBookings;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingPointerService {
+
+    private static final int ROLL_FORWARD_BATCH_SIZE = 500;
+
+    private static final List<String> EXCLUDED_STATUSES = List.of(BookingStatus.REJECTED.name(),
+            BookingStatus.CANCELED.name());
+
+    private final ItemBookingPointerRepository pointerRepository;
+
+    private final BookingRepository bookingRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Integer, ItemBookings> findItemBookings(Collection<Integer> itemIds) {
+        Map<Integer, ItemBookings> result = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return result;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> staleItemIds = new ArrayList<>();
+        for (ItemBookingPointer pointer : pointerRepository.findAllByItemIdIn(itemIds)) {
+            if (pointer.isStale(now)) {
+                staleItemIds.add(pointer.getItemId());
+            } else {
+                result.put(pointer.getItemId(), pointer.toItemBookings());
+            }
+        }
+        if (!staleItemIds.isEmpty()) {
+            Map<Integer, Booking> lastBookings = new HashMap<>();
+            Map<Integer, Booking> nextBookings = new HashMap<>();
+            findBookings(staleItemIds, now, lastBookings, nextBookings);
+            staleItemIds.forEach(itemId -> result.put(itemId, new ItemBookings(
+                    toLastAndNextDto(lastBookings.get(itemId)), toLastAndNextDto(nextBookings.get(itemId)))));
+        }
+        itemIds.forEach(itemId -> result.putIfAbsent(itemId, new ItemBookings(null, null)));
+        return result;
+    }
+
+    @Transactional
+    public void onBookingCreated(Booking booking) {
+        int itemId = booking.getItem().getId();
+        pointerRepository.insertIfAbsent(itemId);
+        ItemBookingPointer pointer = pointerRepository.findByItemIdForUpdate(itemId).orElseThrow();
+        if (booking.getStart().isAfter(LocalDateTime.now())) {
+            if (pointer.getNextBooking() == null || booking.getStart().isBefore(pointer.getNextBooking().getStart())) {
+                pointer.setNextBooking(booking);
+            }
+        } else if (pointer.getLastBooking() == null || booking.getStart().isAfter(pointer.getLastBooking().getStart())) {
+            pointer.setLastBooking(booking);
+        }
+    }
+
+    @Transactional
+    public void onBookingStatusChanged(Booking booking) {
+        if (booking.getStatus() != BookingStatus.REJECTED && booking.getStatus() != BookingStatus.CANCELED) {
+            return;
+        }
+        int itemId = booking.getItem().getId();
+        Optional<ItemBookingPointer> pointer = pointerRepository.findByItemIdForUpdate(itemId);
+        if (pointer.isPresent() && (isSameBooking(pointer.get().getLastBooking(), booking)
+                || isSameBooking(pointer.get().getNextBooking(), booking))) {
+            recompute(List.of(itemId), LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void refresh(Collection<Integer> itemIds) {
+        if (!itemIds.isEmpty()) {
+            recompute(itemIds, LocalDateTime.now());
+        }
+    }
+
+    @Transactional
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> itemIds = pointerRepository.findItemIdsWithStartedNextBooking(now,
+                PageRequest.of(0, ROLL_FORWARD_BATCH_SIZE));
+        if (!itemIds.isEmpty()) {
+            recompute(itemIds, now);
+        }
+    }
+
+    private void recompute(Collection<Integer> itemIds, LocalDateTime now) {
+        Map<Integer, Booking> lastBookings = new HashMap<>();
+        Map<Integer, Booking> nextBookings = new HashMap<>();
+        findBookings(itemIds, now, lastBookings, nextBookings);
+        for (ItemBookingPointer pointer : pointerRepository.findAllByItemIdIn(itemIds)) {
+            pointer.setLastBooking(lastBookings.get(pointer.getItemId()));
+            pointer.setNextBooking(nextBookings.get(pointer.getItemId()));
+        }
+    }
+
+    private void findBookings(Collection<Integer> itemIds, LocalDateTime now,
+                              Map<Integer, Booking> lastBookings, Map<Integer, Booking> nextBookings) {
+        bookingRepository.findLastBookingsByItemIds(itemIds, EXCLUDED_STATUSES, now)
+                .forEach(booking -> lastBookings.put(booking.getItem().getId(), booking));
+        bookingRepository.findNextBookingsByItemIds(itemIds, EXCLUDED_STATUSES, now)
+                .forEach(booking -> nextBookings.put(booking.getItem().getId(), booking));
+    }
+
+    private BookingLastAndNextDto toLastAndNextDto(Booking booking) {
+        return booking == null ? null : BookingMapper.bookingLastAndNextDtoMap(booking);
+    }
+
+    private boolean isSameBooking(Booking pointerBooking, Booking booking) {
+        return pointerBooking != null && pointerBooking.getId() == booking.getId();
+    }
+}
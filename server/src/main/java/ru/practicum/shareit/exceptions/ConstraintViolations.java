@@ -0,0 +1,26 @@
+package ru.practicum.shareit.exceptions;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+public class ConstraintViolations {
+    public static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violated = ((ConstraintViolationException) cause).getConstraintName();
+                if (violated != null && violated.toLowerCase(Locale.ROOT).contains(name)) {
+                    return true;
+                }
+            }
+            if (cause instanceof SQLException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.TimeWindowDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    private int itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean free;
+    private List<TimeWindowDto> freeWindows;
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class ItemBatchImporter {
+
+    private final EntityManager entityManager;
+
+    private final int batchSize;
+
+    public ItemBatchImporter(EntityManager entityManager,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public List<Item> insert(int ownerId, List<Item> items) {
+        User owner = entityManager.getReference(User.class, ownerId);
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.setOwner(owner);
+            entityManager.persist(item);
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                owner = entityManager.getReference(User.class, ownerId);
+            }
+        }
+        return items;
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Integer> findExistingRequestIds(Collection<Integer> requestIds) {
+        if (requestIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(entityManager
+                .createQuery("select r.id from ItemRequest r where r.id in :ids", Integer.class)
+                .setParameter("ids", requestIds)
+                .getResultList());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchResultDto {
+    private int received;
+    private int created;
+    private List<Integer> createdIds;
+    private List<ItemBatchErrorDto> errors;
+    private long elapsedMillis;
+    private double itemsPerSecond;
+}
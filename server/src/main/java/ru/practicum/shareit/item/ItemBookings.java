@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.BookingLastAndNextDto;
+
+import java.time.LocalDateTime;
+
+@Getter
+@RequiredArgsConstructor
+public class ItemBookings {
+    private final BookingLastAndNextDto lastBooking;
+    private final BookingLastAndNextDto nextBooking;
+
+    public boolean isStale(LocalDateTime now) {
+        return nextBooking != null && !nextBooking.getStart().isAfter(now);
+    }
+}
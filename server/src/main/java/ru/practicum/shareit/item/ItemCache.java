@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Component
+public class ItemCache {
+
+    private final Cache<Integer, ItemDto> items;
+
+    private final Cache<Integer, ItemBookings> bookings;
+
+    public ItemCache(MeterRegistry meterRegistry,
+                     @Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+                     @Value("${shareit.cache.items.ttl:5m}") Duration ttl) {
+        items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        bookings = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookings, "itemBookings");
+    }
+
+    public ItemDto getItem(int itemId, Function<Integer, ItemDto> loader) {
+        return items.get(itemId, loader).toBuilder().build();
+    }
+
+    public ItemBookings getBookings(int itemId, Function<Integer, ItemBookings> loader) {
+        ItemBookings cached = bookings.getIfPresent(itemId);
+        if (cached == null || cached.isStale(LocalDateTime.now())) {
+            cached = loader.apply(itemId);
+            bookings.put(itemId, cached);
+        }
+        return cached;
+    }
+
+    public void evictItem(int itemId) {
+        items.invalidate(itemId);
+        bookings.invalidate(itemId);
+    }
+
+    public void evictComments(int itemId) {
+        items.invalidate(itemId);
+    }
+
+    public void evictBookings(int itemId) {
+        bookings.invalidate(itemId);
+        afterCommit(() -> bookings.invalidate(itemId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
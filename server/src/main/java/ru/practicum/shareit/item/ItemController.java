@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentTextDto;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -31,6 +36,18 @@ public class ItemController {
         return itemService.createItem(userId, item);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ItemBatchResultDto createItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                          @RequestBody List<Item> items) {
+        return itemService.createItems(userId, items);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemBatchResultDto createItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                          HttpServletRequest request) throws IOException {
+        return itemService.createItems(userId, request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") int userId,
                               @PathVariable int itemId, @RequestBody Item item) {
@@ -44,9 +61,16 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(value = "mode", defaultValue = "exact") String mode,
                                      @RequestParam(value = "from", defaultValue = "0") int from,
                                      @RequestParam(value = "size", defaultValue = "10") int size) {
-        return itemService.searchItems(text, from, size);
+        return itemService.searchItems(text, mode, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam String prefix,
+                                         @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemService.suggestItemNames(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -55,4 +79,20 @@ public class ItemController {
                                  @RequestBody CommentTextDto commentTextDto) {
         return itemService.addComment(userId, itemId, commentTextDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@PathVariable int itemId,
+                                        @RequestParam(value = "after", required = false) Integer after,
+                                        @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemService.getComments(itemId, after, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable int itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
 }
@@ -9,7 +9,7 @@ import java.util.List;
 
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ItemDto {
     private int id;
     private String name;
@@ -17,6 +17,7 @@ public class ItemDto {
     private User owner;
     private Boolean available;
     private List<CommentDto> comments;
+    private long commentCount;
     private BookingLastAndNextDto nextBooking;
     private BookingLastAndNextDto lastBooking;
     private Integer requestId;
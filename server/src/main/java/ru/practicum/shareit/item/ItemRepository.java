@@ -1,9 +1,24 @@
 package ru.practicum.shareit.item;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Integer> {
 
+public interface ItemRepository extends JpaRepository<Item, Integer>, ItemSearchRepository {
+
+    List<Item> findAllByOwnerIdOrderById(int ownerId, Pageable pageable);
+
+    List<Item> findAllByRequestIdInOrderById(Collection<Integer> requestIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(int itemId);
 }
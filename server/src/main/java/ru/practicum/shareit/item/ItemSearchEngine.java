@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item;
+
+public enum ItemSearchEngine {
+    FULL_TEXT, LIKE, TRIGRAM
+}
@@ -0,0 +1,409 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+
+    private final NavigableMap<String, IntPostingList> nameWords = new TreeMap<>();
+
+    private IndexedItem[] documents = new IndexedItem[1024];
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            nameWords.clear();
+            documents = new IndexedItem[1024];
+            PageRequest pageRequest = PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"));
+            Page<Item> page;
+            do {
+                page = itemRepository.findAll(pageRequest);
+                page.forEach(this::addDocument);
+                pageRequest = pageRequest.next();
+            } while (page.hasNext());
+            log.info("Индекс поиска вещей построен, термов: {}", postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.getId());
+            addDocument(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<Item> items) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                removeDocument(item.getId());
+                addDocument(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int[] search(String text, int from, int size) {
+        String query = normalize(text);
+        int[] found = new int[Math.min(size, 16)];
+        int count = 0;
+        int skipped = 0;
+        lock.readLock().lock();
+        try {
+            long[] trigrams = trigrams(query);
+            int[] candidates = trigrams.length == 0 ? allDocuments() : intersect(trigrams);
+            for (int id : candidates) {
+                IndexedItem document = documents[id];
+                if (document == null || !document.available || !document.contains(query)) {
+                    continue;
+                }
+                if (skipped < from) {
+                    skipped++;
+                    continue;
+                }
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, Math.min(size, found.length * 2));
+                }
+                found[count++] = id;
+                if (count == size) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    public int[] fuzzySearch(String text, double threshold, int from, int size) {
+        String[] words = words(normalize(text));
+        if (words.length == 0) {
+            return new int[0];
+        }
+        long[][] wordTrigrams = new long[words.length][];
+        int minWordTrigrams = Integer.MAX_VALUE;
+        for (int i = 0; i < words.length; i++) {
+            wordTrigrams[i] = trigrams(" " + words[i] + " ");
+            minWordTrigrams = Math.min(minWordTrigrams, wordTrigrams[i].length);
+        }
+        int minShared = Math.max(1, (int) Math.ceil(threshold * minWordTrigrams));
+        List<ScoredItem> scored = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] hits = collectHits(wordTrigrams);
+            int position = 0;
+            while (position < hits.length) {
+                int id = hits[position];
+                int shared = 0;
+                while (position < hits.length && hits[position] == id) {
+                    shared++;
+                    position++;
+                }
+                IndexedItem document = documents[id];
+                if (shared < minShared || document == null || !document.available) {
+                    continue;
+                }
+                double score = document.similarity(wordTrigrams);
+                if (score >= threshold) {
+                    scored.add(new ScoredItem(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingDouble(ScoredItem::getScore).reversed()
+                        .thenComparingInt(ScoredItem::getId))
+                .skip(from)
+                .limit(size)
+                .mapToInt(ScoredItem::getId)
+                .toArray();
+    }
+
+    public List<String> suggest(String prefix, int size) {
+        String normalizedPrefix = normalize(prefix).strip();
+        Set<String> result = new LinkedHashSet<>();
+        if (normalizedPrefix.isEmpty()) {
+            return new ArrayList<>(result);
+        }
+        lock.readLock().lock();
+        try {
+            SortedMap<String, IntPostingList> matches =
+                    nameWords.subMap(normalizedPrefix, normalizedPrefix + Character.MAX_VALUE);
+            for (IntPostingList ids : matches.values()) {
+                for (int id : ids.toArray()) {
+                    IndexedItem document = documents[id];
+                    if (document != null && document.available) {
+                        result.add(document.displayName);
+                        if (result.size() == size) {
+                            return new ArrayList<>(result);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(result);
+    }
+
+    private int[] collectHits(long[][] wordTrigrams) {
+        long[] all = new long[0];
+        for (long[] trigrams : wordTrigrams) {
+            int length = all.length;
+            all = Arrays.copyOf(all, length + trigrams.length);
+            System.arraycopy(trigrams, 0, all, length, trigrams.length);
+        }
+        long[] queryTrigrams = distinct(all, all.length);
+        int total = 0;
+        List<IntPostingList> lists = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            IntPostingList list = postings.get(trigram);
+            if (list != null) {
+                lists.add(list);
+                total += list.size();
+            }
+        }
+        int[] hits = new int[total];
+        int length = 0;
+        for (IntPostingList list : lists) {
+            int[] ids = list.toArray();
+            System.arraycopy(ids, 0, hits, length, ids.length);
+            length += ids.length;
+        }
+        Arrays.sort(hits);
+        return hits;
+    }
+
+    private void addDocument(Item item) {
+        int id = item.getId();
+        if (id >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(id + 1, documents.length * 2));
+        }
+        IndexedItem document = new IndexedItem(item.getName(), normalize(item.getName()),
+                normalize(item.getDescription()), Boolean.TRUE.equals(item.getAvailable()));
+        documents[id] = document;
+        for (long trigram : document.trigrams()) {
+            postings.computeIfAbsent(trigram, key -> new IntPostingList()).add(id);
+        }
+        for (String word : words(document.name)) {
+            nameWords.computeIfAbsent(word, key -> new IntPostingList()).add(id);
+        }
+    }
+
+    private void removeDocument(int id) {
+        if (id >= documents.length || documents[id] == null) {
+            return;
+        }
+        for (long trigram : documents[id].trigrams()) {
+            IntPostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+        for (String word : words(documents[id].name)) {
+            IntPostingList list = nameWords.get(word);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    nameWords.remove(word);
+                }
+            }
+        }
+        documents[id] = null;
+    }
+
+    private int[] intersect(long[] trigrams) {
+        List<IntPostingList> lists = new ArrayList<>(trigrams.length);
+        for (long trigram : trigrams) {
+            IntPostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        int[] result = lists.get(0).toArray();
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            IntPostingList list = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < length; j++) {
+                if (list.contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private int[] allDocuments() {
+        int[] result = new int[documents.length];
+        int count = 0;
+        for (int id = 0; id < documents.length; id++) {
+            if (documents[id] != null) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    static String[] words(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    static double similarity(long[] first, long[] second) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] == second[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = first.length + second.length - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] result = new long[text.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = trigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+        }
+        return distinct(result, result.length);
+    }
+
+    static long[] distinct(long[] values, int length) {
+        Arrays.sort(values, 0, length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count == 0 || values[count - 1] != values[i]) {
+                values[count++] = values[i];
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    private static long trigram(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class ScoredItem {
+        private final int id;
+        private final double score;
+    }
+
+    private static final class IndexedItem {
+        private final String displayName;
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private IndexedItem(String displayName, String name, String description, boolean available) {
+            this.displayName = displayName;
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+
+        private boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        private double similarity(long[][] queryWordTrigrams) {
+            List<long[]> documentWordTrigrams = new ArrayList<>();
+            for (String word : words(name + " " + description)) {
+                documentWordTrigrams.add(ItemSearchIndex.trigrams(" " + word + " "));
+            }
+            double total = 0;
+            for (long[] queryTrigrams : queryWordTrigrams) {
+                double best = 0;
+                for (long[] wordTrigrams : documentWordTrigrams) {
+                    best = Math.max(best, ItemSearchIndex.similarity(queryTrigrams, wordTrigrams));
+                }
+                total += best;
+            }
+            return total / queryWordTrigrams.length;
+        }
+
+        private long[] trigrams() {
+            long[] nameTrigrams = ItemSearchIndex.trigrams(" " + name + " ");
+            long[] descriptionTrigrams = ItemSearchIndex.trigrams(" " + description + " ");
+            long[] all = Arrays.copyOf(nameTrigrams, nameTrigrams.length + descriptionTrigrams.length);
+            System.arraycopy(descriptionTrigrams, 0, all, nameTrigrams.length, descriptionTrigrams.length);
+            return distinct(all, all.length);
+        }
+    }
+}
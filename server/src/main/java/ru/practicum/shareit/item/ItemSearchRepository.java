@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+
+    List<Item> search(String text, int from, int size);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    private static final String FULL_TEXT_QUERY = "select i.* from items i " +
+            "where i.available = true and i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id";
+
+    private static final String LIKE_QUERY = "select i from Item i " +
+            "where i.available = true and (lower(i.name) like :pattern escape '\\' " +
+            "or lower(i.description) like :pattern escape '\\') " +
+            "order by i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ItemSearchEngine engine;
+
+    public ItemSearchRepositoryImpl(@Value("${shareit.search.engine:FULL_TEXT}") ItemSearchEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, int from, int size) {
+        if (engine == ItemSearchEngine.LIKE) {
+            return entityManager.createQuery(LIKE_QUERY, Item.class)
+                    .setParameter("pattern", toLikePattern(text))
+                    .setFirstResult(from)
+                    .setMaxResults(size)
+                    .getResultList();
+        }
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery(FULL_TEXT_QUERY, Item.class)
+                .setParameter("query", query)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private String toTsQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private String toLikePattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item;
 import ru.practicum.shareit.item.comment.CommentDto;
 import ru.practicum.shareit.item.comment.CommentTextDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -13,11 +15,21 @@ public interface ItemService {
 
     ItemDto createItem(int userId, Item item);
 
+    ItemBatchResultDto createItems(int userId, List<Item> items);
+
+    ItemBatchResultDto createItems(int userId, InputStream ndjson);
+
     ItemDto updateItem(int userId, int itemId, Item item);
 
     void deleteItem(int itemId);
 
-    List<ItemDto> searchItems(String text, int from, int size);
+    List<ItemDto> searchItems(String text, String mode, int from, int size);
+
+    List<String> suggestItemNames(String prefix, int size);
 
     CommentDto addComment(int userId, int itemId, CommentTextDto comment);
+
+    List<CommentDto> getComments(int itemId, Integer after, int size);
+
+    ItemAvailabilityDto getAvailability(int itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,22 +1,32 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
@@ -25,55 +35,77 @@ public class ItemServiceImpl implements ItemService {
 
     private final BookingRepository bookingRepository;
 
+    private final ItemBookingPointerService itemBookingPointerService;
+
     private final CommentRepository commentRepository;
 
+    private final ItemSearchIndex itemSearchIndex;
+
+    private final ItemCache itemCache;
+
+    private final ItemBatchImporter itemBatchImporter;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+
+    private final ItemRequestService itemRequestService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ItemSearchEngine searchEngine;
+
+    private final double fuzzyThreshold;
+
+    private final int inlineComments;
+
+    public ItemServiceImpl(ItemRepository itemRepository,
+                           UserService userService,
+                           BookingRepository bookingRepository,
+                           ItemBookingPointerService itemBookingPointerService,
+                           CommentRepository commentRepository,
+                           ItemSearchIndex itemSearchIndex,
+                           ItemCache itemCache,
+                           ItemBatchImporter itemBatchImporter,
+                           BookingIntervalIndex bookingIntervalIndex,
+                           ArchivedBookingRepository archivedBookingRepository,
+                           ItemRequestService itemRequestService,
+                           ObjectMapper objectMapper,
+                           @Value("${shareit.search.engine:FULL_TEXT}") ItemSearchEngine searchEngine,
+                           @Value("${shareit.search.fuzzy-threshold:0.3}") double fuzzyThreshold,
+                           @Value("${shareit.items.inline-comments:10}") int inlineComments) {
+        this.itemRepository = itemRepository;
+        this.userService = userService;
+        this.bookingRepository = bookingRepository;
+        this.itemBookingPointerService = itemBookingPointerService;
+        this.commentRepository = commentRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemCache = itemCache;
+        this.itemBatchImporter = itemBatchImporter;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.itemRequestService = itemRequestService;
+        this.objectMapper = objectMapper;
+        this.searchEngine = searchEngine;
+        this.fuzzyThreshold = fuzzyThreshold;
+        this.inlineComments = inlineComments;
+    }
+
     @Override
     public List<ItemDto> getAllItems(int userId, int from, int size) {
         isValidPagination(from, size);
-        userService.getUser(userId);
-        List<Item> userItems = itemRepository.findAll()
-                .stream()
-                .filter(item -> item.getOwner().getId() == userId)
-                .sorted(Comparator.comparing(Item::getId))
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
-        List<ItemDto> result = new ArrayList<>();
-        for (Item item : userItems) {
-            List<Booking> last = bookingRepository.findLastBookingByOwnerId(item.getId(),
-                    userId, BookingStatus.REJECTED,
-                    LocalDateTime.now());
-            List<Booking> next = bookingRepository.findNextBookingByOwnerId(item.getId(),
-                    userId, BookingStatus.REJECTED,
-                    LocalDateTime.now());
-            ItemDto itemDto = ItemMapper.itemMap(item);
-            if (!last.isEmpty()) {
-                itemDto.setLastBooking(BookingMapper.bookingLastAndNextDtoMap(last.get(0)));
-            }
-            if (!next.isEmpty()) {
-                itemDto.setNextBooking(BookingMapper.bookingLastAndNextDtoMap(next.get(0)));
-            }
-            itemDto.setComments(CommentMapper.commentListMap(commentRepository.findAllByItemId(item.getId())));
-            result.add(itemDto);
-        }
-        return result;
+        userService.checkUserExists(userId);
+        List<Item> userItems = itemRepository.findAllByOwnerIdOrderById(userId, OffsetPageRequest.of(from, size));
+        return enrichItems(userId, userItems);
     }
 
     @Override
     public ItemDto getItem(int userId, int itemId) {
-        Item item = checkItem(itemId);
-        ItemDto itemDto = ItemMapper.itemMap(item);
-        List<Booking> last =
-                bookingRepository.findLastBookingByOwnerId(itemId, userId, BookingStatus.REJECTED, LocalDateTime.now());
-        List<Booking> next =
-                bookingRepository.findNextBookingByOwnerId(itemId, userId, BookingStatus.REJECTED, LocalDateTime.now());
-        if (!last.isEmpty()) {
-            itemDto.setLastBooking(BookingMapper.bookingLastAndNextDtoMap(last.get(0)));
-        }
-        if (!next.isEmpty()) {
-            itemDto.setNextBooking(BookingMapper.bookingLastAndNextDtoMap(next.get(0)));
-        }
-        itemDto.setComments(CommentMapper.commentListMap(commentRepository.findAllByItemId(itemId)));
+        ItemDto itemDto = itemCache.getItem(itemId, this::loadItem);
+        if (itemDto.getOwner().getId() == userId) {
+            setBookings(itemDto, itemCache.getBookings(itemId,
+                    id -> itemBookingPointerService.findItemBookings(List.of(id)).get(id)));
+        }
         return itemDto;
     }
 
@@ -82,12 +114,43 @@ public class ItemServiceImpl implements ItemService {
         isValid(item);
         UserDto userDto = userService.getUser(userId);
         item.setOwner(UserMapper.userDtoMap(userDto));
-        return ItemMapper.itemMap(itemRepository.save(item));
+        Item createdItem = itemRepository.save(item);
+        itemSearchIndex.add(createdItem);
+        itemRequestService.onItemsCreated(List.of(createdItem));
+        return ItemMapper.itemMap(createdItem);
+    }
+
+    @Override
+    public ItemBatchResultDto createItems(int userId, List<Item> items) {
+        return importItems(userId, items, new HashMap<>());
+    }
+
+    @Override
+    public ItemBatchResultDto createItems(int userId, InputStream ndjson) {
+        List<Item> items = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    items.add(objectMapper.readValue(line, Item.class));
+                } catch (JsonProcessingException e) {
+                    parseErrors.put(items.size(), "Некорректный JSON: " + e.getOriginalMessage());
+                    items.add(null);
+                }
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Не удалось прочитать тело запроса: " + e.getMessage());
+        }
+        return importItems(userId, items, parseErrors);
     }
 
     @Override
     public ItemDto updateItem(int userId, int itemId, Item item) {
-        userService.getUser(userId);
+        userService.checkUserExists(userId);
         Item updatedItem = checkItem(itemId);
         if (updatedItem.getOwner().getId() != userId) {
             throw new NotFoundException("Редактировать вещь может только владелец!");
@@ -101,33 +164,132 @@ public class ItemServiceImpl implements ItemService {
         if (item.getAvailable() != null) {
             updatedItem.setAvailable(item.getAvailable());
         }
-        return ItemMapper.itemMap(itemRepository.save(updatedItem));
+        updatedItem = itemRepository.save(updatedItem);
+        itemSearchIndex.add(updatedItem);
+        itemCache.evictItem(itemId);
+        return ItemMapper.itemMap(updatedItem);
     }
 
     @Override
     public void deleteItem(int itemId) {
         itemRepository.deleteById(itemId);
+        itemSearchIndex.remove(itemId);
+        itemCache.evictItem(itemId);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text,int from, int size) {
+    public List<ItemDto> searchItems(String text, String mode, int from, int size) {
         isValidPagination(from, size);
+        ItemSearchMode searchMode = toSearchMode(mode);
         List<ItemDto> result = new ArrayList<>();
-        if (text.isEmpty()) {
+        if (text.isBlank()) {
             return result;
         }
-        List<Item> searchedItems = itemRepository.findAll()
-                .stream()
-                .filter(item -> item.getName().toLowerCase().contains(text.toLowerCase())
-                        || item.getDescription().toLowerCase().contains(text.toLowerCase())
-                        && item.getAvailable())
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
+        List<Item> searchedItems;
+        if (searchMode == ItemSearchMode.FUZZY) {
+            searchedItems = findAllInOrder(itemSearchIndex.fuzzySearch(text, fuzzyThreshold, from, size));
+        } else if (searchEngine == ItemSearchEngine.TRIGRAM) {
+            searchedItems = findAllInOrder(itemSearchIndex.search(text, from, size));
+        } else {
+            searchedItems = itemRepository.search(text, from, size);
+        }
         searchedItems.forEach(item -> result.add(ItemMapper.itemMap(item)));
         return result;
     }
 
+    @Override
+    public List<String> suggestItemNames(String prefix, int size) {
+        isValidPagination(0, size);
+        return itemSearchIndex.suggest(prefix, size);
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(int itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его завершения!");
+        }
+        ItemDto itemDto = itemCache.getItem(itemId, this::loadItem);
+        boolean available = Boolean.TRUE.equals(itemDto.getAvailable());
+        List<TimeWindowDto> freeWindows = available
+                ? bookingIntervalIndex.findFreeWindows(itemId, from, to)
+                : List.of();
+        boolean free = available && bookingIntervalIndex.isFree(itemId, from, to);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .free(free)
+                .freeWindows(freeWindows)
+                .build();
+    }
+
+    private ItemSearchMode toSearchMode(String mode) {
+        try {
+            return ItemSearchMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Неизвестный режим поиска: " + mode);
+        }
+    }
+
+    private List<Item> findAllInOrder(int[] itemIds) {
+        List<Integer> ids = new ArrayList<>(itemIds.length);
+        for (int itemId : itemIds) {
+            ids.add(itemId);
+        }
+        Map<Integer, Item> items = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+        List<Item> result = new ArrayList<>(itemIds.length);
+        for (int itemId : itemIds) {
+            Item item = items.get(itemId);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private ItemBatchResultDto importItems(int userId, List<Item> items, Map<Integer, String> parseErrors) {
+        long started = System.nanoTime();
+        userService.checkUserExists(userId);
+        Set<Integer> requestIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(Item::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Integer> existingRequestIds = itemBatchImporter.findExistingRequestIds(requestIds);
+        List<ItemBatchErrorDto> errors = new ArrayList<>();
+        List<Item> validItems = new ArrayList<>();
+        for (int row = 0; row < items.size(); row++) {
+            Item item = items.get(row);
+            try {
+                if (item == null) {
+                    throw new ValidationException(parseErrors.getOrDefault(row, "Пустая запись!"));
+                }
+                isValid(item);
+                if (item.getRequestId() != null && !existingRequestIds.contains(item.getRequestId())) {
+                    throw new ValidationException("Запроса с id " + item.getRequestId() + " нет в базе!");
+                }
+                item.setId(0);
+                validItems.add(item);
+            } catch (ValidationException e) {
+                errors.add(new ItemBatchErrorDto(row, e.getMessage()));
+            }
+        }
+        List<Item> createdItems = validItems.isEmpty() ? validItems : itemBatchImporter.insert(userId, validItems);
+        itemSearchIndex.addAll(createdItems);
+        itemRequestService.onItemsCreated(createdItems);
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        return ItemBatchResultDto.builder()
+                .received(items.size())
+                .created(createdItems.size())
+                .createdIds(createdItems.stream().map(Item::getId).collect(Collectors.toList()))
+                .errors(errors)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .itemsPerSecond(createdItems.size() * 1_000_000_000.0 / elapsedNanos)
+                .build();
+    }
+
     private void isValid(Item item) {
         if (item.getName() == null || item.getName().isBlank()) {
             throw new ValidationException("Имя не может быть пустым!");
@@ -156,7 +318,8 @@ public class ItemServiceImpl implements ItemService {
         if (!bookingRepository.existsBookingByBookerIdAndItemIdAndStatusAndStartBefore(userId,
                 itemId,
                 BookingStatus.APPROVED,
-                LocalDateTime.now())) {
+                LocalDateTime.now())
+                && !archivedBookingRepository.existsByBookerIdAndItemIdAndStatus(userId, itemId, BookingStatus.APPROVED)) {
             throw new ValidationException("Броней на вещь " + itemId + " нет в базе!");
         }
     }
@@ -169,7 +332,75 @@ public class ItemServiceImpl implements ItemService {
         User user = UserMapper.userDtoMap(userService.getUser(userId));
         Item item = itemRepository.findById(itemId).get();
         Comment comment = CommentMapper.commentTextDtoMapping(commentTextDto, item, user);
-        return CommentMapper.commentMap(commentRepository.save(comment));
+        CommentDto commentDto = CommentMapper.commentMap(commentRepository.save(comment));
+        itemCache.evictComments(itemId);
+        return commentDto;
+    }
+
+    @Override
+    public List<CommentDto> getComments(int itemId, Integer after, int size) {
+        isValidPagination(0, size);
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Предмета с id " + itemId + " нет в базе!");
+        }
+        PageRequest pageRequest = PageRequest.of(0, size);
+        if (after == null) {
+            return CommentMapper.commentListMap(commentRepository.findRecentByItemId(itemId, pageRequest));
+        }
+        Comment afterComment = commentRepository.findById(after)
+                .filter(comment -> comment.getItem().getId() == itemId)
+                .orElseThrow(() -> new NotFoundException("Комментария с id " + after + " нет у вещи " + itemId + "!"));
+        return CommentMapper.commentListMap(commentRepository.findRecentByItemIdBefore(itemId,
+                afterComment.getCreated(), afterComment.getId(), pageRequest));
+    }
+
+    private List<ItemDto> enrichItems(int userId, List<Item> items) {
+        List<ItemDto> result = toItemDtos(items);
+        List<Integer> ownItemIds = result.stream()
+                .filter(itemDto -> itemDto.getOwner().getId() == userId)
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        Map<Integer, ItemBookings> bookings = itemBookingPointerService.findItemBookings(ownItemIds);
+        result.forEach(itemDto -> setBookings(itemDto, bookings.get(itemDto.getId())));
+        return result;
+    }
+
+    private List<ItemDto> toItemDtos(List<Item> items) {
+        List<ItemDto> result = new ArrayList<>();
+        if (items.isEmpty()) {
+            return result;
+        }
+        List<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Integer, Long> commentCounts = commentRepository.countByItemIds(itemIds)
+                .stream()
+                .collect(Collectors.toMap(CommentCount::getItemId, CommentCount::getTotal));
+        List<Integer> recentCommentIds = commentRepository.findRecentIdsByItemIds(itemIds, inlineComments);
+        Map<Integer, List<Comment>> comments = recentCommentIds.isEmpty() ? Map.of() : commentRepository
+                .findAllByIdIn(recentCommentIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        for (Item item : items) {
+            ItemDto itemDto = ItemMapper.itemMap(item);
+            itemDto.setComments(CommentMapper.commentListMap(comments.getOrDefault(item.getId(), List.of())));
+            itemDto.setCommentCount(commentCounts.getOrDefault(item.getId(), 0L));
+            result.add(itemDto);
+        }
+        return result;
+    }
+
+    private ItemDto loadItem(int itemId) {
+        ItemDto itemDto = toItemDtos(List.of(checkItem(itemId))).get(0);
+        itemDto.setOwner(UserMapper.userDtoMap(UserMapper.userMap(itemDto.getOwner())));
+        return itemDto;
+    }
+
+    private void setBookings(ItemDto itemDto, ItemBookings bookings) {
+        if (bookings != null) {
+            itemDto.setLastBooking(bookings.getLastBooking());
+            itemDto.setNextBooking(bookings.getNextBooking());
+        }
     }
 
     private void isValidPagination(int from, int size) {
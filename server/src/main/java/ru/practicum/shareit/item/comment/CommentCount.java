@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.comment;
+
+public interface CommentCount {
+    Integer getItemId();
+
+    Long getTotal();
+}
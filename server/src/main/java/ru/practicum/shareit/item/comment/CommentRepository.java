@@ -1,9 +1,29 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> findAllByItemId(int itemId);
+    @Query("select c from Comment c join fetch c.author where c.id in ?1 order by c.created desc, c.id desc")
+    List<Comment> findAllByIdIn(Collection<Integer> ids);
+
+    @Query(value = "select r.id from (select c.id, row_number() over " +
+            "(partition by c.item_id order by c.created desc, c.id desc) as rn from comments c " +
+            "where c.item_id in ?1) r where r.rn <= ?2", nativeQuery = true)
+    List<Integer> findRecentIdsByItemIds(Collection<Integer> itemIds, int limit);
+
+    @Query("select c.item.id as itemId, count(c) as total from Comment c where c.item.id in ?1 group by c.item.id")
+    List<CommentCount> countByItemIds(Collection<Integer> itemIds);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id = ?1 order by c.created desc, c.id desc")
+    List<Comment> findRecentByItemId(int itemId, Pageable pageable);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id = ?1 " +
+            "and (c.created < ?2 or (c.created = ?2 and c.id < ?3)) order by c.created desc, c.id desc")
+    List<Comment> findRecentByItemIdBefore(int itemId, LocalDateTime created, int id, Pageable pageable);
 }
@@ -18,11 +18,25 @@ public class ItemRequestController {
         return itemRequestService.createItemRequest(userId, itemRequestDescriptionDto);
     }
 
-    @GetMapping
+    @GetMapping(params = {"!from", "!size", "!cursor"})
     public List<ItemRequestDto> getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId) {
         return itemRequestService.getOwnItemsRequests(userId);
     }
 
+    @GetMapping
+    public List<ItemRequestDto> getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                    @RequestParam(value = "from", defaultValue = "0") int from,
+                                                    @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestService.getOwnItemsRequests(userId, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public ItemRequestPageDto getOwnItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                  @RequestParam String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestService.getOwnItemsRequests(userId, cursor, size);
+    }
+
     @GetMapping("/all")
     public List<ItemRequestDto> getOthersItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
                                                        @RequestParam(value = "from", defaultValue = "0") int from,
@@ -30,10 +44,23 @@ public class ItemRequestController {
         return itemRequestService.getOthersItemsRequests(userId, from, size);
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    public ItemRequestPageDto getOthersItemsRequests(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                     @RequestParam String cursor,
+                                                     @RequestParam(value = "size", defaultValue = "10") int size) {
+        return itemRequestService.getOthersItemsRequests(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getItemRequest(@RequestHeader("X-Sharer-User-Id") int userId, @PathVariable int requestId) {
         return itemRequestService.getItemRequest(userId, requestId);
     }
 
+    @GetMapping("/{requestId}/suggestions")
+    public List<RequestSuggestionDto> getSuggestions(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                     @PathVariable int requestId) {
+        return itemRequestService.getSuggestions(userId, requestId);
+    }
+
 
 }
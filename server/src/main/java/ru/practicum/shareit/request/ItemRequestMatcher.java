@@ -0,0 +1,151 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class ItemRequestMatcher {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final int STEM_LENGTH = 5;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final double minScore;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    private final Map<Integer, OpenRequest> requests = new HashMap<>();
+
+    public ItemRequestMatcher(ItemRequestRepository itemRequestRepository,
+                              @Value("${shareit.requests.matching.min-score:0.5}") double minScore) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.minScore = minScore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            requests.clear();
+            int lastId = 0;
+            List<ItemRequest> page;
+            do {
+                page = itemRequestRepository.findOpenAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (ItemRequest itemRequest : page) {
+                    addRequest(itemRequest.getId(), itemRequest.getRequestor().getId(), itemRequest.getDescription());
+                    lastId = itemRequest.getId();
+                }
+            } while (page.size() == LOAD_BATCH_SIZE);
+            log.info("Индекс открытых запросов построен, запросов: {}", requests.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(int requestId, int requestorId, String description) {
+        lock.writeLock().lock();
+        try {
+            removeRequest(requestId);
+            addRequest(requestId, requestorId, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int requestId) {
+        lock.writeLock().lock();
+        try {
+            removeRequest(requestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<Integer, Double> match(int ownerId, String text) {
+        Set<String> tokens = tokens(text);
+        Map<Integer, Integer> hits = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                for (int requestId : postings.getOrDefault(token, Set.of())) {
+                    hits.merge(requestId, 1, Integer::sum);
+                }
+            }
+            Map<Integer, Double> matches = new HashMap<>();
+            hits.forEach((requestId, count) -> {
+                OpenRequest request = requests.get(requestId);
+                double score = (double) count / request.tokens.length;
+                if (request.requestorId != ownerId && score >= minScore) {
+                    matches.put(requestId, score);
+                }
+            });
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addRequest(int requestId, int requestorId, String description) {
+        String[] tokens = tokens(description).toArray(String[]::new);
+        if (tokens.length == 0) {
+            return;
+        }
+        requests.put(requestId, new OpenRequest(requestorId, tokens));
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new HashSet<>()).add(requestId);
+        }
+    }
+
+    private void removeRequest(int requestId) {
+        OpenRequest request = requests.remove(requestId);
+        if (request == null) {
+            return;
+        }
+        for (String token : request.tokens) {
+            Set<Integer> requestIds = postings.get(token);
+            requestIds.remove(requestId);
+            if (requestIds.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(word.length() > STEM_LENGTH ? word.substring(0, STEM_LENGTH) : word);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class OpenRequest {
+        private final int requestorId;
+        private final String[] tokens;
+
+        private OpenRequest(int requestorId, String[] tokens) {
+            this.requestorId = requestorId;
+            this.tokens = tokens;
+        }
+    }
+}
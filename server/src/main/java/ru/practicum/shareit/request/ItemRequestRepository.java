@@ -1,7 +1,35 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
 
+    @Query("select r from ItemRequest r where r.id > ?1 " +
+            "and not exists (select i.id from Item i where i.requestId = r.id) order by r.id")
+    List<ItemRequest> findOpenAfter(int afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(int requestorId);
+
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(int requestorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDescIdDesc(int requestorId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r where r.requestor.id = ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findOwnBefore(int requestorId, LocalDateTime created, int id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requestor")
+    @Query("select r from ItemRequest r where r.requestor.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) order by r.created desc, r.id desc")
+    List<ItemRequest> findOthersBefore(int requestorId, LocalDateTime created, int id, Pageable pageable);
 }
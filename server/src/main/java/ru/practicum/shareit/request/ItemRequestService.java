@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.item.Item;
 
 import java.util.List;
 
@@ -9,7 +10,17 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getOwnItemsRequests(int userId);
 
+    List<ItemRequestDto> getOwnItemsRequests(int userId, int from, int size);
+
+    ItemRequestPageDto getOwnItemsRequests(int userId, String cursor, int size);
+
     List<ItemRequestDto> getOthersItemsRequests(int userId, int from, int size);
 
+    ItemRequestPageDto getOthersItemsRequests(int userId, String cursor, int size);
+
     ItemRequestDto getItemRequest(int userId, int requestId);
+
+    List<RequestSuggestionDto> getSuggestions(int userId, int requestId);
+
+    void onItemsCreated(List<Item> items);
 }
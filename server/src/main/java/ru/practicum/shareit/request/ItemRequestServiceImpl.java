@@ -1,19 +1,22 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +29,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRepository itemRepository;
 
+    private final ItemRequestMatcher itemRequestMatcher;
+
+    private final RequestSuggestionRepository requestSuggestionRepository;
+
     @Override
     public ItemRequestDto createItemRequest(int userId, ItemRequestDescriptionDto itemRequestDescriptionDto) {
         isValidItemRequest(itemRequestDescriptionDto);
@@ -36,46 +43,108 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .requestor(requestor)
                 .created(LocalDateTime.now())
                 .build();
-        return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequest));
+        ItemRequest createdItemRequest = itemRequestRepository.save(itemRequest);
+        itemRequestMatcher.add(createdItemRequest.getId(), userId, createdItemRequest.getDescription());
+        return ItemRequestMapper.toItemRequestDto(createdItemRequest);
     }
 
     @Override
     public List<ItemRequestDto> getOwnItemsRequests(int userId) {
-        userService.getUser(userId);
+        userService.checkUserExists(userId);
+        List<ItemRequest> userRequests = itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(userId);
+        setItemsByAnswers(userRequests);
+        return ItemRequestMapper.toItemRequestDtoList(userRequests);
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwnItemsRequests(int userId, int from, int size) {
+        isValidPagination(from, size);
+        userService.checkUserExists(userId);
         List<ItemRequest> userRequests = itemRequestRepository
-                .findAll()
-                .stream()
-                .sorted(Comparator.comparing(ItemRequest::getCreated).reversed())
-                .filter(itemRequest -> itemRequest.getRequestor().getId() == userId).collect(Collectors.toList());
-        userRequests.forEach(this::setItemsByAnswers);
+                .findAllByRequestorIdOrderByCreatedDescIdDesc(userId, OffsetPageRequest.of(from, size));
+        setItemsByAnswers(userRequests);
         return ItemRequestMapper.toItemRequestDtoList(userRequests);
     }
 
+    @Override
+    public ItemRequestPageDto getOwnItemsRequests(int userId, String cursor, int size) {
+        isValidPagination(0, size);
+        userService.checkUserExists(userId);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        Pageable pageable = OffsetPageRequest.of(0, size);
+        List<ItemRequest> userRequests = keysetCursor == null
+                ? itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(userId, pageable)
+                : itemRequestRepository.findOwnBefore(userId, keysetCursor.getPosition(), keysetCursor.getId(), pageable);
+        return toPage(userRequests, size);
+    }
+
     @Override
     public List<ItemRequestDto> getOthersItemsRequests(int userId, int from, int size) {
         isValidPagination(from, size);
-        userService.getUser(userId);
+        userService.checkUserExists(userId);
         List<ItemRequest> othersItemsRequests = itemRequestRepository
-                .findAll()
-                .stream()
-                .filter(itemRequest -> itemRequest.getRequestor().getId() != userId)
-                .sorted(Comparator.comparing(ItemRequest::getCreated).reversed())
-                .skip(from)
-                .limit(size)
-                .collect(Collectors.toList());
-        othersItemsRequests.forEach(this::setItemsByAnswers);
+                .findAllByRequestorIdNotOrderByCreatedDescIdDesc(userId, OffsetPageRequest.of(from, size));
+        setItemsByAnswers(othersItemsRequests);
         return ItemRequestMapper.toItemRequestDtoList(othersItemsRequests);
     }
 
+    @Override
+    public ItemRequestPageDto getOthersItemsRequests(int userId, String cursor, int size) {
+        isValidPagination(0, size);
+        userService.checkUserExists(userId);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        Pageable pageable = OffsetPageRequest.of(0, size);
+        List<ItemRequest> othersItemsRequests = keysetCursor == null
+                ? itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDescIdDesc(userId, pageable)
+                : itemRequestRepository.findOthersBefore(userId, keysetCursor.getPosition(), keysetCursor.getId(),
+                pageable);
+        return toPage(othersItemsRequests, size);
+    }
+
     @Override
     public ItemRequestDto getItemRequest(int userId, int requestId) {
-        userService.getUser(userId);
+        userService.checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запроса с id " + requestId + " нет в базе!"));
-        setItemsByAnswers(itemRequest);
+        setItemsByAnswers(List.of(itemRequest));
         return ItemRequestMapper.toItemRequestDto(itemRequest);
     }
 
+    @Override
+    public List<RequestSuggestionDto> getSuggestions(int userId, int requestId) {
+        userService.checkUserExists(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запроса с id " + requestId + " нет в базе!"));
+        if (itemRequest.getRequestor().getId() != userId) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не имеет доступа к запросу " + requestId);
+        }
+        return requestSuggestionRepository.findAllByRequestId(requestId).stream()
+                .map(RequestSuggestionDto::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void onItemsCreated(List<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RequestSuggestion> suggestions = new ArrayList<>();
+        for (Item item : items) {
+            if (item.getRequestId() != null) {
+                itemRequestMatcher.remove(item.getRequestId());
+                continue;
+            }
+            itemRequestMatcher.match(item.getOwner().getId(), item.getName() + " " + item.getDescription())
+                    .forEach((requestId, score) -> suggestions.add(RequestSuggestion.builder()
+                            .requestId(requestId)
+                            .item(item)
+                            .score(score)
+                            .created(now)
+                            .build()));
+        }
+        if (!suggestions.isEmpty()) {
+            requestSuggestionRepository.saveAll(suggestions);
+        }
+    }
+
     private void isValidItemRequest(ItemRequestDescriptionDto itemRequest) {
         if (itemRequest.getDescription() == null || itemRequest.getDescription().isBlank()) {
             throw new ValidationException("Комментарий не может быть пустым!");
@@ -90,14 +159,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         }
     }
 
-    private void setItemsByAnswers(ItemRequest itemRequest) {
-        List<Item> items = itemRepository.findAll();
-        List<Item> result = new ArrayList<>();
-        for (Item item : items) {
-            if (item.getRequestId() != null && (itemRequest.getId() == item.getRequestId())) {
-                result.add(item);
-            }
+    private ItemRequestPageDto toPage(List<ItemRequest> itemRequests, int size) {
+        setItemsByAnswers(itemRequests);
+        String nextCursor = null;
+        if (itemRequests.size() == size) {
+            ItemRequest last = itemRequests.get(itemRequests.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
         }
-        itemRequest.setItems(result);
+        return ItemRequestPageDto.builder()
+                .requests(ItemRequestMapper.toItemRequestDtoList(itemRequests))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private void setItemsByAnswers(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Item>> answers = itemRepository.findAllByRequestIdInOrderById(itemRequests.stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+        itemRequests.forEach(itemRequest ->
+                itemRequest.setItems(answers.getOrDefault(itemRequest.getId(), new ArrayList<>())));
     }
 }
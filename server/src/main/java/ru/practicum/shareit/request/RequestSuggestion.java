@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request;
+
+import lombok.*;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@Table(name = "request_suggestions", schema = "public")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSuggestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+    @Column(name = "request_id")
+    private int requestId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Item item;
+    private double score;
+    private LocalDateTime created;
+}
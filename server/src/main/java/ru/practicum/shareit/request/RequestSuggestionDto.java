@@ -0,0 +1,32 @@
+package ru.practicum.shareit.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSuggestionDto {
+    private int itemId;
+    private String name;
+    private String description;
+    private Boolean available;
+    private double score;
+    private LocalDateTime created;
+
+    public static RequestSuggestionDto of(RequestSuggestion suggestion) {
+        return RequestSuggestionDto.builder()
+                .itemId(suggestion.getItem().getId())
+                .name(suggestion.getItem().getName())
+                .description(suggestion.getItem().getDescription())
+                .available(suggestion.getItem().getAvailable())
+                .score(suggestion.getScore())
+                .created(suggestion.getCreated())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface RequestSuggestionRepository extends JpaRepository<RequestSuggestion, Integer> {
+
+    @Query("select s from RequestSuggestion s join fetch s.item where s.requestId = ?1 " +
+            "order by s.score desc, s.id")
+    List<RequestSuggestion> findAllByRequestId(int requestId);
+}
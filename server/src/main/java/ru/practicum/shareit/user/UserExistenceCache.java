@@ -0,0 +1,101 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserExistenceCache {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    private final UserRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BitSet userIds = new BitSet();
+
+    private final BitSet deletedIds = new BitSet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            userIds.clear();
+            deletedIds.clear();
+            int lastId = 0;
+            List<Integer> page;
+            do {
+                page = repository.findIdsAfter(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (int userId : page) {
+                    userIds.set(userId);
+                    lastId = userId;
+                }
+            } while (page.size() == LOAD_BATCH_SIZE);
+            log.info("Кэш существующих пользователей построен, пользователей: {}", userIds.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int userId) {
+        if (userId < 0) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return userIds.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(int userId) {
+        lock.writeLock().lock();
+        try {
+            if (!deletedIds.get(userId)) {
+                userIds.set(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int userId) {
+        if (userId < 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(userId);
+                }
+            });
+        } else {
+            clear(userId);
+        }
+    }
+
+    private void clear(int userId) {
+        lock.writeLock().lock();
+        try {
+            userIds.clear(userId);
+            deletedIds.set(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
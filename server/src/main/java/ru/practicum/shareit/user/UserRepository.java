@@ -1,7 +1,16 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    @Query("select u.id from User u where u.id > ?1 order by u.id")
+    List<Integer> findIdsAfter(int afterId, Pageable pageable);
+
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(?1) and u.id <> ?2")
+    boolean existsByEmailIgnoreCaseAndIdNot(String email, int id);
 }
@@ -8,6 +8,8 @@ public interface UserService {
 
     UserDto getUser(int userId);
 
+    void checkUserExists(int userId);
+
     UserDto createUser(User user);
 
     UserDto updateUser(User user, int userId);
@@ -1,22 +1,28 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.AlreadyExistsException;
+import ru.practicum.shareit.exceptions.ConstraintViolations;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_CONSTRAINT = "users_email_lower_idx";
+
     private final UserRepository repository;
 
+    private final UserExistenceCache userExistenceCache;
+
     @Override
     public List<UserDto> getAllUsers() {
         List<UserDto> dtoUsers = new ArrayList<>();
@@ -36,10 +42,24 @@ public class UserServiceImpl implements UserService {
         return userDto;
     }
 
+    @Override
+    public void checkUserExists(int userId) {
+        if (userExistenceCache.contains(userId)) {
+            return;
+        }
+        if (!repository.existsById(userId)) {
+            throw new NotFoundException("Пользователя с ID " + userId + " нет в базе!");
+        }
+        userExistenceCache.add(userId);
+    }
+
     @Override
     public UserDto createUser(User user) {
         isValid(user);
-        return UserMapper.userMap(repository.save(user));
+        checkEmailDuplicate(user.getEmail(), 0);
+        User createdUser = saveUser(user);
+        userExistenceCache.add(createdUser.getId());
+        return UserMapper.userMap(createdUser);
     }
 
     @Override
@@ -49,19 +69,19 @@ public class UserServiceImpl implements UserService {
             updatedUser.setName(user.getName());
         }
         if (user.getEmail() != null) {
-            if (updatedUser.getEmail().equals(user.getEmail())) {
-                updatedUser.setEmail(user.getEmail());
-            } else {
-                checkEmailDuplicate(user.getEmail());
-                updatedUser.setEmail(user.getEmail());
+            if (!updatedUser.getEmail().equals(user.getEmail())) {
+                checkEmailDuplicate(user.getEmail(), userId);
             }
+            updatedUser.setEmail(user.getEmail());
         }
-        return UserMapper.userMap(repository.save(updatedUser));
+        return UserMapper.userMap(saveUser(updatedUser));
     }
 
     @Override
+    @Transactional
     public void deleteUser(int userId) {
         repository.deleteById(userId);
+        userExistenceCache.remove(userId);
     }
 
 
@@ -74,24 +94,25 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    private void checkEmailDuplicate(String userEmail) {
-        List<User> result = repository.findAll()
-                .stream()
-                .filter(user -> user.getEmail().equals(userEmail))
-                .collect(Collectors.toList());
-        if (!result.isEmpty()) {
+    private User saveUser(User user) {
+        try {
+            return repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolated(e, EMAIL_CONSTRAINT)) {
+                throw new AlreadyExistsException("Такой email уже есть в базе!");
+            }
+            throw e;
+        }
+    }
+
+    private void checkEmailDuplicate(String userEmail, int userId) {
+        if (repository.existsByEmailIgnoreCaseAndIdNot(userEmail, userId)) {
             throw new AlreadyExistsException("Такой email уже есть в базе!");
         }
     }
 
     private User checkUser(int userId) {
-        List<User> result = repository.findAll()
-                .stream()
-                .filter(user -> user.getId() == userId)
-                .collect(Collectors.toList());
-        if (result.isEmpty()) {
-            throw new NotFoundException("Пользователя с id " + userId + " нет в базе!");
-        }
-        return result.get(0);
+        return repository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователя с id " + userId + " нет в базе!"));
     }
 }
@@ -1,12 +1,17 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, requests;
+DROP TABLE IF EXISTS users, items, bookings, comments, requests, item_booking_pointers, booking_events, bookings_archive, request_suggestions;
+DROP SEQUENCE IF EXISTS items_id_seq;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
 
 CREATE TABLE IF NOT EXISTS users
 (
     id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
     name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE
+    email VARCHAR(255) NOT NULL
 );
 
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_lower_idx ON users (lower(email));
+
 CREATE TABLE IF NOT EXISTS requests
 (
     id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
@@ -15,14 +20,17 @@ CREATE TABLE IF NOT EXISTS requests
     created TIMESTAMP WITHOUT TIME ZONE
 );
 
+CREATE SEQUENCE IF NOT EXISTS items_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS items
 (
-    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    id INT DEFAULT nextval('items_id_seq') PRIMARY KEY NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255) NOT NULL,
     owner_id INT REFERENCES users (id),
     request_id INT REFERENCES requests (id),
-    available BOOLEAN NOT NULL
+    available BOOLEAN NOT NULL,
+    search_vector TSVECTOR GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED
 );
 
 CREATE TABLE IF NOT EXISTS bookings
@@ -32,7 +40,10 @@ CREATE TABLE IF NOT EXISTS bookings
     end_time TIMESTAMP WITHOUT TIME ZONE,
     item_id INT REFERENCES items (id) ON DELETE CASCADE,
     booker_id INT REFERENCES users (id) ON DELETE CASCADE,
-    booking_status VARCHAR(255) NOT NULL
+    booking_status VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT bookings_item_id_period_excl EXCLUDE USING GIST (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+        WHERE (booking_status IN ('WAITING', 'APPROVED'))
 );
 
 CREATE TABLE IF NOT EXISTS comments
@@ -42,4 +53,80 @@ CREATE TABLE IF NOT EXISTS comments
     item_id INT REFERENCES items (id) ON DELETE CASCADE,
     author_id INT REFERENCES users (id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS item_booking_pointers
+(
+    item_id INT PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+    last_booking_id INT REFERENCES bookings (id) ON DELETE SET NULL,
+    next_booking_id INT REFERENCES bookings (id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS request_suggestions
+(
+    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    request_id INT NOT NULL REFERENCES requests (id) ON DELETE CASCADE,
+    item_id INT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    score DOUBLE PRECISION NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    UNIQUE (request_id, item_id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id INT PRIMARY KEY NOT NULL,
+    start_time TIMESTAMP WITHOUT TIME ZONE,
+    end_time TIMESTAMP WITHOUT TIME ZONE,
+    item_id INT REFERENCES items (id) ON DELETE CASCADE,
+    booker_id INT REFERENCES users (id) ON DELETE CASCADE,
+    booking_status VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS booking_events
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY NOT NULL,
+    owner_id INT NOT NULL,
+    booking_id INT NOT NULL,
+    item_id INT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    booking_status VARCHAR(255) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS requests_requestor_id_created_idx ON requests (requestor_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS items_search_vector_idx ON items USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS item_booking_pointers_next_booking_id_idx ON item_booking_pointers (next_booking_id);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_time_idx ON bookings (item_id, start_time);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_idx ON bookings (item_id, booking_status);
+
+CREATE INDEX IF NOT EXISTS bookings_waiting_start_time_idx ON bookings (start_time) WHERE booking_status = 'WAITING';
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_time_idx ON bookings (booker_id, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_end_time_idx ON bookings (booker_id, end_time);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_start_time_idx ON bookings (booker_id, booking_status, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_created_idx ON comments (item_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS booking_events_owner_id_id_idx ON booking_events (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS booking_events_created_idx ON booking_events (created);
+
+CREATE INDEX IF NOT EXISTS bookings_end_time_idx ON bookings (end_time);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_booker_id_start_time_idx ON bookings_archive (booker_id, start_time DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_item_id_start_time_idx ON bookings_archive (item_id, start_time DESC, id DESC);
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+class BookingArchivePagingTest {
+
+    private static final Duration HORIZON = Duration.ofDays(365);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private BookingService bookingService;
+
+    private User owner;
+
+    private User booker;
+
+    private Item item;
+
+    private final List<Booking> expected = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingServiceImpl(bookingRepository, mock(UserService.class), itemRepository,
+                mock(ItemCache.class), mock(ItemBookingPointerService.class), mock(BookingIntervalIndex.class),
+                mock(BookingEventRepository.class), archivedBookingRepository, mock(BookingEventStream.class),
+                new SimpleMeterRegistry(), false, 500, HORIZON);
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+        item = entityManager.persist(Item.builder().name("Дрель").description("Простая дрель").owner(owner)
+                .available(true).build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 6; i++) {
+            persistHot(now.minusDays(i * 30L));
+        }
+        persistHot(now.minusDays(400));
+        persistHot(now.minusDays(700));
+        for (int i = 0; i < 7; i++) {
+            persistArchived(1000 + i, now.minusDays(380 + i * 100L));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        expected.sort(Comparator.comparing(Booking::getStart).thenComparingInt(Booking::getId).reversed());
+    }
+
+    @Test
+    void offsetPagesFollowMergedOrderForBooker() {
+        for (int size = 1; size <= 5; size++) {
+            for (int from = 0; from <= expected.size() + 1; from++) {
+                assertEquals(expectedIds(from, size), ids(bookingService.getBookerBookings(booker.getId(), "ALL",
+                        from, size)), "from=" + from + ", size=" + size);
+                assertEquals(expectedIds(from, size), ids(bookingService.getBookerBookings(booker.getId(), "PAST",
+                        from, size)), "from=" + from + ", size=" + size);
+            }
+        }
+    }
+
+    @Test
+    void offsetPagesFollowMergedOrderForOwner() {
+        for (int size = 1; size <= 5; size++) {
+            for (int from = 0; from <= expected.size() + 1; from++) {
+                assertEquals(expectedIds(from, size), ids(bookingService.getOwnerBookings(owner.getId(), "ALL",
+                        from, size)), "from=" + from + ", size=" + size);
+            }
+        }
+    }
+
+    @Test
+    void cursorPagesFollowMergedOrder() {
+        List<Integer> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPageDto page = bookingService.getBookerBookings(booker.getId(), "ALL", cursor, 3);
+            page.getBookings().forEach(booking -> walked.add(booking.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedIds(0, expected.size()), walked);
+    }
+
+    @Test
+    void archivedBookingIsFoundById() {
+        BookingDto booking = bookingService.getBooking(booker.getId(), 1000);
+
+        assertEquals(1000, booking.getId());
+    }
+
+    private void persistHot(LocalDateTime start) {
+        expected.add(entityManager.persist(Booking.builder().start(start).end(start.plusDays(1)).item(item)
+                .booker(booker).status(BookingStatus.APPROVED).build()));
+    }
+
+    private void persistArchived(int id, LocalDateTime start) {
+        ArchivedBooking archivedBooking = entityManager.persist(new ArchivedBooking(id, start, start.plusDays(1),
+                item, booker, BookingStatus.APPROVED, 0, LocalDateTime.now()));
+        expected.add(archivedBooking.toBooking());
+    }
+
+    private List<Integer> expectedIds(int from, int size) {
+        return expected.stream().skip(from).limit(size).map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private List<Integer> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(null);
+    }
+
+    @Test
+    void itemWithoutBookingsIsFree() {
+        assertTrue(index.isFree(1, at(10), at(12)));
+        assertEquals(List.of(window(8, 16)), index.findFreeWindows(1, at(8), at(16)));
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        index.add(1, 1, at(10), at(12));
+
+        assertTrue(index.isFree(1, at(12), at(14)));
+        assertTrue(index.isFree(1, at(8), at(10)));
+        assertFalse(index.isFree(1, at(11), at(13)));
+        assertFalse(index.isFree(1, at(9), at(11)));
+        assertFalse(index.isFree(1, at(8), at(14)));
+    }
+
+    @Test
+    void freeWindowsSkipBookedAndTouchingIntervals() {
+        index.add(1, 1, at(10), at(12));
+        index.add(1, 3, at(14), at(15));
+        index.add(1, 2, at(12), at(13));
+
+        assertEquals(List.of(window(8, 10), window(13, 14), window(15, 16)),
+                index.findFreeWindows(1, at(8), at(16)));
+    }
+
+    @Test
+    void freeWindowsAreClippedToRequestedPeriod() {
+        index.add(1, 1, at(10), at(12));
+        index.add(1, 2, at(14), at(15));
+
+        assertEquals(List.of(window(12, 14)), index.findFreeWindows(1, at(11), at(14)));
+        assertEquals(List.of(), index.findFreeWindows(1, at(10), at(12)));
+    }
+
+    @Test
+    void removeReleasesInterval() {
+        index.add(1, 1, at(10), at(12));
+        index.remove(1, 1);
+        index.remove(1, 100);
+        index.remove(2, 1);
+
+        assertTrue(index.isFree(1, at(10), at(12)));
+    }
+
+    @Test
+    void addMovesExistingBooking() {
+        index.add(1, 1, at(10), at(12));
+        index.add(1, 1, at(14), at(16));
+
+        assertTrue(index.isFree(1, at(10), at(12)));
+        assertFalse(index.isFree(1, at(15), at(16)));
+    }
+
+    @Test
+    void addDropsIntervalsThatAlreadyEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        index.add(1, 1, now.minusDays(2), now.minusDays(1));
+        index.add(1, 2, at(10), at(12));
+
+        assertTrue(index.isFree(1, now.minusDays(2), now.minusDays(1)));
+    }
+
+    @Test
+    void itemsSharingLockStripeAreIndependent() {
+        index.add(1, 1, at(10), at(12));
+
+        assertTrue(index.isFree(65, at(10), at(12)));
+    }
+
+    @Test
+    void onBookingSavedReleasesRejectedBooking() {
+        Booking booking = Booking.builder()
+                .id(1)
+                .item(Item.builder().id(1).build())
+                .start(at(10))
+                .end(at(12))
+                .status(BookingStatus.WAITING)
+                .build();
+        index.onBookingSaved(booking);
+        assertFalse(index.isFree(1, at(10), at(12)));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        index.onBookingSaved(booking);
+        assertTrue(index.isFree(1, at(10), at(12)));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    private static TimeWindowDto window(int startHour, int endHour) {
+        return new TimeWindowDto(at(startHour), at(endHour));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение триграммного индекса с поиском в базе.
+ * По умолчанию база — H2 из тестовых настроек, а поиск в базе идет через LIKE. Для полнотекстового поиска
+ * нужно передать настройки Postgres и {@code -Dshareit.search.engine=FULL_TEXT}.
+ * Запуск: {@code mvn -pl server test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath ru.practicum.shareit.item.ItemSearchBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final long SEED = 42;
+
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Молоток", "Пила", "Лестница", "Палатка",
+            "Велосипед", "Самокат", "Проектор", "Набор бит", "Шуруповерт", "Кабель"};
+
+    private static final String[] DESCRIPTIONS = {"ударная", "аккумуляторная", "старая", "новая", "детская",
+            "туристическая", "складная", "мощная", "для бетона", "у дома"};
+
+    @Param({"1000", "10000", "100000"})
+    int itemCount;
+
+    @Param({"дрель", "ель у", "шуруп", "фотоаппарат"})
+    String query;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        itemRepository = context.getBean(ItemRepository.class);
+        itemSearchIndex = context.getBean(ItemSearchIndex.class);
+        User owner = context.getBean(UserRepository.class)
+                .save(User.builder().name("owner").email("owner@mail.ru").build());
+        Random random = new Random(SEED);
+        List<Item> items = new ArrayList<>(SAVE_BATCH_SIZE);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.builder()
+                    .name(NAMES[random.nextInt(NAMES.length)] + " " + i)
+                    .description(NAMES[random.nextInt(NAMES.length)].toLowerCase() + " "
+                            + DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                    .owner(owner)
+                    .available(random.nextInt(10) != 0)
+                    .build());
+            if (items.size() == SAVE_BATCH_SIZE) {
+                itemRepository.saveAll(items);
+                items.clear();
+            }
+        }
+        itemRepository.saveAll(items);
+        itemSearchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int[] trigramIndex() {
+        return itemSearchIndex.search(query, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> database() {
+        return itemRepository.search(query, 0, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "shareit.search.engine=LIKE")
+class ItemSearchConsistencyTest {
+
+    private static final List<String> QUERIES = List.of(
+            "дрель", "ДРЕЛ", "ель у", "от", "", "100%", "a_b", "отвертка", "молоток", "для");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        persist(owner, "Дрель ударная", "Мощная дрель для бетона", true);
+        persist(owner, "Отвертка", "Аккумуляторная отвертка", true);
+        persist(owner, "Дрель старая", "Сломана", false);
+        persist(owner, "Набор бит", "Подходит для дрели и отвертки", true);
+        persist(owner, "Клей", "Держит на 100%", true);
+        persist(owner, "Кабель a_b", "Переходник", true);
+        persist(owner, "Кабель axb", "Переходник", true);
+        entityManager.flush();
+        index = new ItemSearchIndex(itemRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void indexReturnsSameItemsAsSqlSearch() {
+        for (String query : QUERIES) {
+            List<Integer> expected = itemRepository.search(query, 0, 100).stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+            List<Integer> actual = Arrays.stream(index.search(query, 0, 100))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "Запрос: " + query);
+        }
+    }
+
+    @Test
+    void indexPagesLikeSqlSearch() {
+        for (int from = 0; from < 6; from++) {
+            List<Integer> expected = itemRepository.search("", from, 2).stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toList());
+            List<Integer> actual = Arrays.stream(index.search("", from, 2))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "from: " + from);
+        }
+    }
+
+    private void persist(User owner, String name, String description, boolean available) {
+        entityManager.persist(Item.builder()
+                .name(name)
+                .description(description)
+                .owner(owner)
+                .available(available)
+                .build());
+    }
+}
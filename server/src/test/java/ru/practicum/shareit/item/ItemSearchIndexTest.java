@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(null);
+        index.add(item(1, "Дрель ударная", "Мощная дрель для бетона", true));
+        index.add(item(2, "Отвертка", "Аккумуляторная отвертка", true));
+        index.add(item(3, "Дрель старая", "Сломана", false));
+        index.add(item(4, "Набор бит", "Подходит для дрели и отвертки", true));
+    }
+
+    @Test
+    void searchFindsSubstringIgnoringCase() {
+        assertArrayEquals(new int[]{1, 4}, index.search("ДРЕЛ", 0, 10));
+        assertArrayEquals(new int[]{2, 4}, index.search("тверт", 0, 10));
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        assertArrayEquals(new int[]{1}, index.search("дрель", 0, 10));
+    }
+
+    @Test
+    void searchWithShortQueryScansAllDocuments() {
+        assertArrayEquals(new int[]{2, 4}, index.search("от", 0, 10));
+    }
+
+    @Test
+    void searchWithEmptyQueryReturnsAllAvailableItems() {
+        assertArrayEquals(new int[]{1, 2, 4}, index.search("", 0, 10));
+    }
+
+    @Test
+    void searchReturnsNothingWhenTrigramIsUnknown() {
+        assertArrayEquals(new int[0], index.search("молоток", 0, 10));
+    }
+
+    @Test
+    void searchDoesNotMatchAcrossNameAndDescription() {
+        assertArrayEquals(new int[0], index.search("ударная мощная", 0, 10));
+    }
+
+    @Test
+    void searchAppliesFromAndSize() {
+        assertArrayEquals(new int[]{1, 2}, index.search("", 0, 2));
+        assertArrayEquals(new int[]{2, 4}, index.search("", 1, 2));
+        assertArrayEquals(new int[0], index.search("", 3, 2));
+    }
+
+    @Test
+    void addReplacesPreviousVersionOfItem() {
+        index.add(item(1, "Перфоратор", "Для бетона", true));
+
+        assertArrayEquals(new int[]{4}, index.search("дрел", 0, 10));
+        assertArrayEquals(new int[]{1}, index.search("перфо", 0, 10));
+    }
+
+    @Test
+    void removeDropsItemFromResults() {
+        index.remove(4);
+        index.remove(100);
+
+        assertArrayEquals(new int[]{1}, index.search("дрел", 0, 10));
+    }
+
+    @Test
+    void fuzzySearchToleratesTypos() {
+        assertArrayEquals(new int[]{1, 4}, index.fuzzySearch("дрелл", 0.3, 0, 10));
+        assertArrayEquals(new int[]{2, 4}, index.fuzzySearch("отвертко", 0.3, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchOrdersByScoreThenId() {
+        assertArrayEquals(new int[]{4, 2}, index.fuzzySearch("отвертки", 0.3, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchAveragesScoreOverQueryWords() {
+        assertArrayEquals(new int[]{1}, index.fuzzySearch("дрель бетон", 0.3, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchRespectsThreshold() {
+        assertArrayEquals(new int[0], index.fuzzySearch("дрелл", 0.5, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchWithoutWordsReturnsNothing() {
+        assertArrayEquals(new int[0], index.fuzzySearch("", 0.3, 0, 10));
+        assertArrayEquals(new int[0], index.fuzzySearch(" !? ", 0.3, 0, 10));
+    }
+
+    @Test
+    void fuzzySearchAppliesFromAndSize() {
+        assertArrayEquals(new int[]{2}, index.fuzzySearch("отвертки", 0.3, 1, 10));
+        assertArrayEquals(new int[]{4}, index.fuzzySearch("отвертки", 0.3, 0, 1));
+    }
+
+    @Test
+    void suggestReturnsAvailableNamesByWordPrefix() {
+        index.add(item(5, "Дрель аккумуляторная", "Без провода", true));
+
+        assertEquals(List.of("Дрель ударная", "Дрель аккумуляторная"), index.suggest("ДР", 10));
+        assertEquals(List.of("Дрель ударная"), index.suggest("удар", 10));
+        assertEquals(List.of("Набор бит"), index.suggest("би", 10));
+    }
+
+    @Test
+    void suggestLimitsResultSize() {
+        index.add(item(5, "Дрель аккумуляторная", "Без провода", true));
+
+        assertEquals(List.of("Дрель ударная"), index.suggest("др", 1));
+    }
+
+    @Test
+    void suggestDeduplicatesNames() {
+        index.add(item(5, "Дрель ударная", "Вторая такая же", true));
+
+        assertEquals(List.of("Дрель ударная"), index.suggest("др", 10));
+    }
+
+    @Test
+    void suggestWithBlankPrefixReturnsNothing() {
+        assertEquals(List.of(), index.suggest("", 10));
+        assertEquals(List.of(), index.suggest("   ", 10));
+    }
+
+    @Test
+    void suggestIgnoresDescriptionWords() {
+        assertEquals(List.of(), index.suggest("бетон", 10));
+    }
+
+    static Item item(int id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodeRestoresEncodedCursor() {
+        LocalDateTime position = LocalDateTime.of(2023, 3, 1, 12, 30, 15, 123_456_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(position, 42).encode());
+
+        assertEquals(position, cursor.getPosition());
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    void decodeRestoresCursorWithoutFractionOfSecond() {
+        LocalDateTime position = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(position, 1).encode());
+
+        assertEquals(position, cursor.getPosition());
+        assertEquals(1, cursor.getId());
+    }
+
+    @Test
+    void encodeIsUrlSafe() {
+        for (int id = 0; id < 300; id++) {
+            String encoded = new KeysetCursor(LocalDateTime.of(2023, 3, 1, 12, 0).plusNanos(id * 1000L), id).encode();
+
+            assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="), encoded);
+        }
+    }
+
+    @Test
+    void decodeOfMissingCursorReturnsNull() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode("  "));
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encode("без разделителя")));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encode("не дата|1")));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encode("2023-03-01T12:00|abc")));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(encode("2023-03-01T12:00|")));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
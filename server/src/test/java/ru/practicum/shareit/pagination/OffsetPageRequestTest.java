@@ -0,0 +1,54 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetPageRequestTest {
+
+    @Test
+    void offsetIsNotRoundedToPageBoundary() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(5, 10);
+
+        assertEquals(5, pageRequest.getOffset());
+        assertEquals(10, pageRequest.getPageSize());
+        assertEquals(0, pageRequest.getPageNumber());
+        assertEquals(Sort.unsorted(), pageRequest.getSort());
+    }
+
+    @Test
+    void nextAndPreviousMoveBySize() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(5, 10);
+
+        assertEquals(15, pageRequest.next().getOffset());
+        assertEquals(0, pageRequest.previousOrFirst().getOffset());
+        assertEquals(15, OffsetPageRequest.of(25, 10).previousOrFirst().getOffset());
+    }
+
+    @Test
+    void firstPageHasNoPrevious() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0, 10);
+
+        assertFalse(pageRequest.hasPrevious());
+        assertEquals(pageRequest, pageRequest.previousOrFirst());
+        assertTrue(OffsetPageRequest.of(1, 10).hasPrevious());
+    }
+
+    @Test
+    void firstAndWithPageKeepSizeAndSort() {
+        Sort sort = Sort.by("id");
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(7, 3, sort);
+
+        Pageable first = pageRequest.first();
+        Pageable third = pageRequest.withPage(2);
+
+        assertEquals(0, first.getOffset());
+        assertEquals(6, third.getOffset());
+        assertEquals(3, third.getPageSize());
+        assertEquals(sort, third.getSort());
+    }
+}
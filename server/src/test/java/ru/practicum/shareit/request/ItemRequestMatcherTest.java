@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemRequestMatcherTest {
+
+    private static final int REQUESTOR_ID = 10;
+
+    private static final int OWNER_ID = 20;
+
+    private ItemRequestMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new ItemRequestMatcher(null, 0.5);
+        matcher.add(1, REQUESTOR_ID, "Нужна аккумуляторная дрель");
+    }
+
+    @Test
+    void matchScoresShareOfRequestTokens() {
+        assertEquals(Map.of(1, 2.0 / 3), matcher.match(OWNER_ID, "ДРЕЛЬ аккумуляторная Makita"));
+    }
+
+    @Test
+    void matchComparesWordStems() {
+        assertEquals(Map.of(1, 2.0 / 3), matcher.match(OWNER_ID, "Дрель на аккумуляторе"));
+    }
+
+    @Test
+    void matchSkipsRequestsBelowMinScore() {
+        assertEquals(Map.of(), matcher.match(OWNER_ID, "Дрель"));
+    }
+
+    @Test
+    void matchAcceptsScoreEqualToMinScore() {
+        matcher.add(2, REQUESTOR_ID, "Ёлка новогодняя");
+
+        assertEquals(Map.of(2, 0.5), matcher.match(OWNER_ID, "Искусственная елка"));
+    }
+
+    @Test
+    void matchSkipsOwnRequests() {
+        assertEquals(Map.of(), matcher.match(REQUESTOR_ID, "Аккумуляторная дрель"));
+    }
+
+    @Test
+    void matchScoresEveryRequestSeparately() {
+        matcher.add(2, 30, "Дрель ударная");
+
+        assertEquals(Map.of(1, 2.0 / 3, 2, 0.5), matcher.match(OWNER_ID, "Дрель аккумуляторная"));
+    }
+
+    @Test
+    void shortWordsAndEmptyTextAreIgnored() {
+        matcher.add(2, REQUESTOR_ID, "на и");
+
+        assertEquals(Map.of(), matcher.match(OWNER_ID, "на и"));
+        assertEquals(Map.of(), matcher.match(OWNER_ID, ""));
+        assertEquals(Map.of(), matcher.match(OWNER_ID, null));
+    }
+
+    @Test
+    void removedRequestIsNotMatched() {
+        matcher.remove(1);
+        matcher.remove(100);
+
+        assertEquals(Map.of(), matcher.match(OWNER_ID, "Аккумуляторная дрель"));
+    }
+
+    @Test
+    void addReplacesRequestDescription() {
+        matcher.add(1, REQUESTOR_ID, "Нужна пила");
+
+        assertEquals(Map.of(), matcher.match(OWNER_ID, "Аккумуляторная дрель"));
+        assertEquals(Map.of(1, 1.0), matcher.match(OWNER_ID, "Пила, нужна срочно"));
+    }
+}
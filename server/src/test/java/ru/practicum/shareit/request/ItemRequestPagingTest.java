@@ -0,0 +1,130 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+class ItemRequestPagingTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RequestSuggestionRepository requestSuggestionRepository;
+
+    private ItemRequestService itemRequestService;
+
+    private User requestor;
+
+    private User other;
+
+    private List<Integer> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, mock(UserService.class),
+                itemRepository, mock(ItemRequestMatcher.class), requestSuggestionRepository);
+        requestor = entityManager.persist(User.builder().name("requestor").email("requestor@mail.ru").build());
+        other = entityManager.persist(User.builder().name("other").email("other@mail.ru").build());
+        List<ItemRequest> requests = new ArrayList<>();
+        requests.add(persist(CREATED));
+        requests.add(persist(CREATED.plusMinutes(1)));
+        requests.add(persist(CREATED));
+        requests.add(persist(CREATED.plusMinutes(1)));
+        requests.add(persist(CREATED));
+        entityManager.flush();
+        expectedOrder = List.of(requests.get(3).getId(), requests.get(1).getId(),
+                requests.get(4).getId(), requests.get(2).getId(), requests.get(0).getId());
+    }
+
+    @Test
+    void ownCursorPagesBreakTiesOnCreatedById() {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemRequestPageDto page = itemRequestService.getOwnItemsRequests(requestor.getId(), cursor, 2);
+            page.getRequests().forEach(request -> ids.add(request.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedOrder, ids);
+    }
+
+    @Test
+    void othersCursorPagesBreakTiesOnCreatedById() {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ItemRequestPageDto page = itemRequestService.getOthersItemsRequests(other.getId(), cursor, 2);
+            page.getRequests().forEach(request -> ids.add(request.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedOrder, ids);
+    }
+
+    @Test
+    void lastFullPageIsFollowedByEmptyPage() {
+        ItemRequestPageDto page = itemRequestService.getOwnItemsRequests(requestor.getId(), (String) null, 5);
+        ItemRequestPageDto next = itemRequestService.getOwnItemsRequests(requestor.getId(), page.getNextCursor(), 5);
+
+        assertEquals(expectedOrder, ids(page.getRequests()));
+        assertEquals(List.of(), next.getRequests());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void offsetPagesFollowSameOrder() {
+        assertEquals(expectedOrder.subList(1, 4),
+                ids(itemRequestService.getOwnItemsRequests(requestor.getId(), 1, 3)));
+        assertEquals(List.of(), itemRequestService.getOwnItemsRequests(requestor.getId(), 5, 3));
+    }
+
+    @Test
+    void unpagedListReturnsAllRequests() {
+        assertEquals(expectedOrder, ids(itemRequestService.getOwnItemsRequests(requestor.getId())));
+    }
+
+    @Test
+    void badCursorIsRejected() {
+        assertThrows(ValidationException.class,
+                () -> itemRequestService.getOwnItemsRequests(requestor.getId(), "%%%", 2));
+    }
+
+    private ItemRequest persist(LocalDateTime created) {
+        return entityManager.persist(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(requestor)
+                .created(created)
+                .build());
+    }
+
+    private static List<Integer> ids(List<ItemRequestDto> requests) {
+        return requests.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+    }
+}
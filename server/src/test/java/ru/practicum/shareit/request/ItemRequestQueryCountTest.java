@@ -0,0 +1,122 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemRequestQueryCountTest {
+
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private RequestSuggestionRepository requestSuggestionRepository;
+
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+
+    private User requestor;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, mock(UserService.class),
+                itemRepository, mock(ItemRequestMatcher.class), requestSuggestionRepository);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        requestor = entityManager.persist(User.builder().name("requestor").email("requestor@mail.ru").build());
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+    }
+
+    @Test
+    void ownRequestsPageCostsFixedNumberOfStatements() {
+        createRequests(3);
+        long smallPage = countStatements(() -> itemRequestService.getOwnItemsRequests(requestor.getId(), 0, 3));
+        createRequests(20);
+        long largePage = countStatements(() -> itemRequestService.getOwnItemsRequests(requestor.getId(), 0, 20));
+
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void othersRequestsPageCostsFixedNumberOfStatements() {
+        createRequests(3);
+        long smallPage = countStatements(() -> itemRequestService.getOthersItemsRequests(owner.getId(), 0, 3));
+        createRequests(20);
+        long largePage = countStatements(() -> itemRequestService.getOthersItemsRequests(owner.getId(), 0, 20));
+
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void pageContainsAnswersOfEveryRequest() {
+        createRequests(5);
+        entityManager.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.getOwnItemsRequests(requestor.getId(), 0, 5);
+
+        assertEquals(5, requests.size());
+        requests.forEach(request -> {
+            assertEquals(ITEMS_PER_REQUEST, request.getItems().size());
+            request.getItems().forEach(item -> assertEquals(request.getId(), item.getRequestId()));
+        });
+    }
+
+    private void createRequests(int count) {
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = entityManager.persist(ItemRequest.builder()
+                    .description("Нужна вещь " + i)
+                    .requestor(requestor)
+                    .created(created.plusSeconds(i))
+                    .build());
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                entityManager.persist(Item.builder()
+                        .name("Вещь " + i + "-" + j)
+                        .description("Ответ на запрос " + request.getId())
+                        .owner(owner)
+                        .available(true)
+                        .requestId(request.getId())
+                        .build());
+            }
+        }
+        entityManager.flush();
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.user;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение проверки существования пользователя через getUser и через checkUserExists.
+ * По умолчанию база — H2 из тестовых настроек, для Postgres нужно передать настройки источника данных.
+ * Запуск: {@code mvn -pl server test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath ru.practicum.shareit.user.UserExistenceBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserExistenceBenchmark {
+
+    private static final int SAVE_BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    int userCount;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private int[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        userIds = new int[userCount];
+        List<User> users = new ArrayList<>(SAVE_BATCH_SIZE);
+        int saved = 0;
+        for (int i = 0; i < userCount; i++) {
+            users.add(User.builder().name("user" + i).email("user" + i + "@mail.ru").build());
+            if (users.size() == SAVE_BATCH_SIZE || i == userCount - 1) {
+                for (User user : userRepository.saveAll(users)) {
+                    userIds[saved++] = user.getId();
+                }
+                users.clear();
+            }
+        }
+        context.getBean(UserExistenceCache.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDto getUser() {
+        return userService.getUser(randomUserId());
+    }
+
+    @Benchmark
+    public void checkUserExists() {
+        userService.checkUserExists(randomUserId());
+    }
+
+    private int randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserExistenceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}